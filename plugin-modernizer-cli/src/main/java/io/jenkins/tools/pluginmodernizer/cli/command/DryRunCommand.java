@@ -9,6 +9,7 @@ import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.impl.PluginModernizer;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
@@ -31,15 +32,17 @@ public class DryRunCommand implements ICommand {
     private PluginOptions pluginOptions;
 
     /**
-     * Recipe to be applied
+     * Recipes to be applied
      */
     @CommandLine.Option(
             names = {"-r", "--recipe"},
             required = true,
-            description = "Recipe to be applied.",
+            split = ",",
+            description =
+                    "Recipe to be applied. Several recipes can be given, separated by commas or by repeating the option. They are applied in order in a single pass and proposed in a single pull request.",
             completionCandidates = RecipeConverter.class,
             converter = RecipeConverter.class)
-    private Recipe recipe;
+    private List<Recipe> recipes;
 
     /**
      * Skip modernization metadata
@@ -77,7 +80,7 @@ public class DryRunCommand implements ICommand {
         githubOptions.config(builder);
         envOptions.config(builder);
         return builder.withDryRun(true)
-                .withRecipe(recipe)
+                .withRecipes(recipes)
                 .withSkipMetadata(skipMetadata)
                 .build();
     }
@@ -9,6 +9,7 @@ import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.impl.PluginModernizer;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
@@ -31,15 +32,17 @@ public class RunCommand implements ICommand {
     private PluginOptions pluginOptions;
 
     /**
-     * Recipe to be applied
+     * Recipes to be applied
      */
     @CommandLine.Option(
             names = {"-r", "--recipe"},
             required = true,
-            description = "Recipe to be applied.",
+            split = ",",
+            description =
+                    "Recipe to be applied. Several recipes can be given, separated by commas or by repeating the option. They are applied in order in a single pass and proposed in a single pull request.",
             completionCandidates = RecipeConverter.class,
             converter = RecipeConverter.class)
-    private Recipe recipe;
+    private List<Recipe> recipes;
 
     @CommandLine.Option(
             names = {"--draft"},
@@ -74,6 +77,23 @@ public class RunCommand implements ICommand {
             defaultValue = "SKIP")
     private Config.DuplicatePrStrategy duplicatePrStrategy;
 
+    /**
+     * Resume from checkpoints
+     */
+    @CommandLine.Option(
+            names = {"--resume"},
+            description = "Resume each plugin from the last stage completed by a previous run of the same recipe.")
+    private boolean resume;
+
+    /**
+     * Run recipes in process
+     */
+    @CommandLine.Option(
+            names = {"--rewrite-in-process"},
+            description =
+                    "Run the recipe inside the modernizer process instead of through the rewrite-maven-plugin. Falls back to the rewrite-maven-plugin on failure.")
+    private boolean rewriteInProcess;
+
     /**
      * Environment options
      */
@@ -101,12 +121,14 @@ public class RunCommand implements ICommand {
         }
         pluginOptions.config(builder);
         githubOptions.config(builder);
-        return builder.withRecipe(recipe)
+        return builder.withRecipes(recipes)
                 .withDraft(draft)
                 .withRemoveForks(removeForks)
                 .withSkipMetadata(skipMetadata)
                 .withOverrideOptOutPlugins(overrideOptOutPlugins)
                 .withDuplicatePrStrategy(duplicatePrStrategy)
+                .withResume(resume)
+                .withRewriteInProcess(rewriteInProcess)
                 .build();
     }
 
@@ -3,6 +3,7 @@ package io.jenkins.tools.pluginmodernizer.cli.options;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import java.nio.file.Path;
+import java.time.Duration;
 import picocli.CommandLine;
 
 /**
@@ -47,6 +48,33 @@ public class GitHubOptions implements IOption {
                     "GitHub App Installation ID for the target repositories. If set, the app installation must be done on the given github owner (personal or organization).")
     public Long githubAppTargetInstallationId;
 
+    @CommandLine.Option(
+            names = {"--clone-depth"},
+            description =
+                    "Number of commits to fetch when cloning repositories. Only the default branch is cloned. History is deepened when needed. Default to 0 (full history).")
+    public int cloneDepth;
+
+    @CommandLine.Option(
+            names = {"--git-mirror"},
+            description =
+                    "Keep a bare mirror of each upstream repository in the cache and share its objects with plugin checkouts.")
+    public boolean gitMirror;
+
+    @CommandLine.Option(
+            names = {"--fork-timeout"},
+            description =
+                    "Maximum time in seconds to wait for a new fork to be ready before pushing to it. Default to 120.")
+    public long forkTimeout = Settings.DEFAULT_FORK_TIMEOUT.toSeconds();
+
+    @CommandLine.Option(
+            names = {"--github-preflight"},
+            negatable = true,
+            defaultValue = "true",
+            fallbackValue = "true",
+            description =
+                    "Fetch in batch with GraphQL the archived, fork and open pull requests state of the plugin repositories before processing them. Enabled by default.")
+    public boolean githubPreflight = true;
+
     /**
      * Create a new config build for the global options
      */
@@ -56,6 +84,10 @@ public class GitHubOptions implements IOption {
                 .withGitHubAppId(githubAppId)
                 .withGitHubAppSourceInstallationId(githubAppSourceInstallationId)
                 .withGitHubAppTargetInstallationId(githubAppTargetInstallationId)
-                .withSshPrivateKey(sshPrivateKey);
+                .withSshPrivateKey(sshPrivateKey)
+                .withCloneDepth(cloneDepth)
+                .withGitMirror(gitMirror)
+                .withForkTimeout(Duration.ofSeconds(forkTimeout))
+                .withGithubPreflight(githubPreflight);
     }
 }
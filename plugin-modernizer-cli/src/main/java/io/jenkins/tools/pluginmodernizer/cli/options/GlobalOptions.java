@@ -50,6 +50,12 @@ public class GlobalOptions implements IOption {
             description = "Path to the cache directory.")
     private Path cachePath = Settings.DEFAULT_CACHE_PATH;
 
+    @CommandLine.Option(
+            names = {"--binary-cache"},
+            description =
+                    "Store the update center, plugin versions and installation stats in a compact binary cache format.")
+    private boolean binaryCache;
+
     @CommandLine.Option(
             names = {"--maven-home"},
             description = "Path to the Maven Home directory.")
@@ -60,6 +66,43 @@ public class GlobalOptions implements IOption {
             description = "Path to the Maven local repository.")
     private Path mavenLocalRepo = Settings.DEFAULT_MAVEN_LOCAL_REPO;
 
+    @CommandLine.Option(
+            names = {"--maven-daemon"},
+            description = "Run Maven goals on a Maven daemon (mvnd) kept warm across goals and plugins. "
+                    + "Falls back to forked Maven if mvnd is not available.")
+    private boolean mavenDaemon;
+
+    @CommandLine.Option(
+            names = {"--maven-daemon-home"},
+            description = "Path to the Maven daemon (mvnd) home directory. Default to MVND_HOME or mvnd in PATH.")
+    private Path mavenDaemonHome = Settings.DEFAULT_MAVEN_DAEMON_HOME;
+
+    @CommandLine.Option(
+            names = {"--parallelism"},
+            description = "Maximum number of plugins processed concurrently. Default to ${DEFAULT-VALUE}.")
+    private int parallelism = Settings.DEFAULT_PARALLELISM;
+
+    @CommandLine.Option(
+            names = {"--fetch-parallelism"},
+            description = "Number of workers fetching plugin repositories. Default to the parallelism.")
+    private int fetchParallelism;
+
+    @CommandLine.Option(
+            names = {"--publish-parallelism"},
+            description = "Number of workers pushing changes and opening pull requests. Default to the parallelism.")
+    private int publishParallelism;
+
+    @CommandLine.Option(
+            names = {"--publish-retries"},
+            description =
+                    "Number of retries with an increasing delay of a failed push or pull request. Default to ${DEFAULT-VALUE}.")
+    private int publishRetries = Settings.DEFAULT_PUBLISH_RETRIES;
+
+    @CommandLine.Option(
+            names = {"--virtual-threads"},
+            description = "Run fetch and publish stages on virtual threads when plugins are processed concurrently.")
+    private boolean virtualThreads;
+
     /**
      * Create a new config build for the global options
      */
@@ -71,9 +114,17 @@ public class GlobalOptions implements IOption {
                         !cachePath.endsWith(Settings.CACHE_SUBDIR)
                                 ? cachePath.resolve(Settings.CACHE_SUBDIR)
                                 : cachePath)
+                .withBinaryCache(binaryCache)
                 .withMavenHome(mavenHome)
                 .withMavenLocalRepo(mavenLocalRepo)
-                .withAllowDeprecatedPlugins(allowDeprecatedPlugins);
+                .withMavenDaemon(mavenDaemon)
+                .withMavenDaemonHome(mavenDaemonHome)
+                .withAllowDeprecatedPlugins(allowDeprecatedPlugins)
+                .withParallelism(parallelism)
+                .withFetchParallelism(fetchParallelism)
+                .withPublishParallelism(publishParallelism)
+                .withPublishRetries(publishRetries)
+                .withVirtualThreads(virtualThreads);
     }
 
     /**
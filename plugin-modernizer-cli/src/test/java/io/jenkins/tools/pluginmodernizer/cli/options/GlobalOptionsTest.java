@@ -2,6 +2,7 @@ package io.jenkins.tools.pluginmodernizer.cli.options;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
@@ -32,6 +33,8 @@ public class GlobalOptionsTest {
                 Settings.DEFAULT_MAVEN_LOCAL_REPO,
                 config.getMavenLocalRepo(),
                 "Maven local repo should be the default");
+        assertFalse(config.isMavenDaemon(), "Maven daemon should be disabled by default");
+        assertEquals(1, config.getParallelism(), "Plugins should be processed sequentially by default");
     }
 
     @Test
@@ -67,4 +70,32 @@ public class GlobalOptionsTest {
                 config.getCachePath(),
                 "Cache path should be custom");
     }
+
+    @Test
+    public void testGlobalOptionsWithMavenDaemonAndParallelism() throws Exception {
+        Config.Builder builder = Config.builder();
+        GlobalOptions globalOptions = GlobalOptions.getInstance();
+
+        setField(globalOptions, "mavenDaemon", true);
+        setField(globalOptions, "parallelism", 4);
+        setField(globalOptions, "fetchParallelism", 16);
+
+        globalOptions.config(builder);
+
+        Config config = builder.build();
+        assertTrue(config.isMavenDaemon(), "Maven daemon should be enabled");
+        assertEquals(4, config.getParallelism());
+        assertEquals(16, config.getFetchParallelism());
+        assertEquals(4, config.getPublishParallelism());
+    }
+
+    private static void setField(GlobalOptions globalOptions, String name, Object value) throws Exception {
+        Field field = ReflectionUtils.findFields(
+                        GlobalOptions.class,
+                        f -> f.getName().equals(name),
+                        ReflectionUtils.HierarchyTraversalMode.TOP_DOWN)
+                .get(0);
+        field.setAccessible(true);
+        field.set(globalOptions, value);
+    }
 }
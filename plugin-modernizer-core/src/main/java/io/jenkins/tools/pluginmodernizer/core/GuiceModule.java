@@ -4,7 +4,9 @@ import com.google.inject.AbstractModule;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.github.GHService;
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.impl.CheckpointJournal;
 import io.jenkins.tools.pluginmodernizer.core.impl.PluginModernizer;
+import io.jenkins.tools.pluginmodernizer.core.impl.RewriteEngine;
 import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
 import org.apache.maven.shared.invoker.DefaultInvoker;
@@ -22,9 +24,11 @@ public class GuiceModule extends AbstractModule {
     protected void configure() {
         bind(Invoker.class).to(DefaultInvoker.class);
         bind(Config.class).toInstance(config);
-        bind(CacheManager.class).toInstance(new CacheManager(config.getCachePath()));
+        bind(CacheManager.class).toInstance(new CacheManager(config.getCachePath(), config.isBinaryCache()));
+        bind(CheckpointJournal.class).toInstance(new CheckpointJournal(config.getCachePath()));
         bind(PluginService.class).toInstance(new PluginService());
         bind(GHService.class).toInstance(new GHService());
+        bind(RewriteEngine.class).toInstance(new RewriteEngine());
         bind(JdkFetcher.class).toInstance(new JdkFetcher(config.getCachePath()));
         bind(PluginModernizer.class).toInstance(new PluginModernizer());
     }
@@ -5,6 +5,7 @@ import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
 import java.net.URL;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 public class Config {
@@ -41,6 +42,20 @@ public class Config {
     private final Long githubAppTargetInstallationId;
     private final Path sshPrivateKey;
     private final DuplicatePrStrategy duplicatePrStrategy;
+    private final int parallelism;
+    private final int fetchParallelism;
+    private final int publishParallelism;
+    private final boolean virtualThreads;
+    private final boolean resume;
+    private final boolean mavenDaemon;
+    private final Path mavenDaemonHome;
+    private final boolean rewriteInProcess;
+    private final int cloneDepth;
+    private final boolean gitMirror;
+    private final Duration forkTimeout;
+    private final boolean githubPreflight;
+    private final int publishRetries;
+    private final boolean binaryCache;
 
     private Config(
             String version,
@@ -67,7 +82,21 @@ public class Config {
             boolean draft,
             boolean removeForks,
             boolean allowDeprecatedPlugins,
-            DuplicatePrStrategy duplicatePrStrategy) {
+            DuplicatePrStrategy duplicatePrStrategy,
+            int parallelism,
+            int fetchParallelism,
+            int publishParallelism,
+            boolean virtualThreads,
+            boolean resume,
+            boolean mavenDaemon,
+            Path mavenDaemonHome,
+            boolean rewriteInProcess,
+            int cloneDepth,
+            boolean gitMirror,
+            Duration forkTimeout,
+            boolean githubPreflight,
+            int publishRetries,
+            boolean binaryCache) {
         this.version = version;
         this.githubOwner = githubOwner;
         this.githubAppId = githubAppId;
@@ -93,6 +122,20 @@ public class Config {
         this.removeForks = removeForks;
         this.allowDeprecatedPlugins = allowDeprecatedPlugins;
         this.duplicatePrStrategy = duplicatePrStrategy;
+        this.parallelism = parallelism;
+        this.fetchParallelism = fetchParallelism;
+        this.publishParallelism = publishParallelism;
+        this.virtualThreads = virtualThreads;
+        this.resume = resume;
+        this.mavenDaemon = mavenDaemon;
+        this.mavenDaemonHome = mavenDaemonHome;
+        this.rewriteInProcess = rewriteInProcess;
+        this.cloneDepth = cloneDepth;
+        this.gitMirror = gitMirror;
+        this.forkTimeout = forkTimeout;
+        this.githubPreflight = githubPreflight;
+        this.publishRetries = publishRetries;
+        this.binaryCache = binaryCache;
     }
 
     public String getVersion() {
@@ -216,6 +259,21 @@ public class Config {
         return mavenLocalRepo.toAbsolutePath();
     }
 
+    /**
+     * Return if Maven goals run on a Maven daemon (mvnd) kept warm across goals and plugins.
+     * @return True if the Maven daemon is used when available
+     */
+    public boolean isMavenDaemon() {
+        return mavenDaemon;
+    }
+
+    /**
+     * Maven daemon home explicitly configured via CLI/env. Null to look for mvnd in PATH.
+     */
+    public @Nullable Path getMavenDaemonHome() {
+        return mavenDaemonHome == null ? null : mavenDaemonHome.toAbsolutePath();
+    }
+
     public boolean isSkipMetadata() {
         return skipMetadata;
     }
@@ -248,6 +306,102 @@ public class Config {
         return duplicatePrStrategy;
     }
 
+    /**
+     * Return the maximum number of plugins processed concurrently.
+     * @return Parallelism, 1 means plugins are processed sequentially
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Return the number of workers fetching plugin repositories.
+     * @return Fetch parallelism, defaults to the parallelism if not set
+     */
+    public int getFetchParallelism() {
+        return fetchParallelism > 0 ? fetchParallelism : parallelism;
+    }
+
+    /**
+     * Return the number of workers pushing changes and opening pull requests.
+     * @return Publish parallelism, defaults to the parallelism if not set
+     */
+    public int getPublishParallelism() {
+        return publishParallelism > 0 ? publishParallelism : parallelism;
+    }
+
+    /**
+     * Return if fetch and publish stages run on virtual threads.
+     * @return True if network bound operations use virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Return if plugins resume from the last stage completed by a previous run.
+     * @return True if resuming
+     */
+    public boolean isResume() {
+        return resume;
+    }
+
+    /**
+     * Return if recipes run inside this process instead of through the rewrite-maven-plugin.
+     * @return True if recipes run in process
+     */
+    public boolean isRewriteInProcess() {
+        return rewriteInProcess;
+    }
+
+    /**
+     * Get the number of commits to fetch when cloning repositories. 0 to fetch the full history
+     * @return The clone depth
+     */
+    public int getCloneDepth() {
+        return cloneDepth;
+    }
+
+    /**
+     * Whether plugin clones share the objects of a local bare mirror of their upstream repository
+     * @return True if git mirrors are used
+     */
+    public boolean isGitMirror() {
+        return gitMirror;
+    }
+
+    /**
+     * Get the maximum time to wait for a new fork to be ready
+     * @return The fork timeout
+     */
+    public Duration getForkTimeout() {
+        return forkTimeout;
+    }
+
+    /**
+     * Return if the state of the plugin repositories is fetched in batch before processing
+     * @return True if the state is fetched in batch
+     */
+    public boolean isGithubPreflight() {
+        return githubPreflight;
+    }
+
+    /**
+     * Return the number of retries of a failed push or pull request
+     * @return The number of retries
+     */
+    public int getPublishRetries() {
+        return publishRetries;
+    }
+
+    /**
+     * Return if the large root cache entries are stored in the compact binary format
+     * @return True if binary cache is enabled
+     */
+    public boolean isBinaryCache() {
+        return binaryCache;
+    }
+
     public enum DuplicatePrStrategy {
         SKIP,
         UPDATE,
@@ -284,6 +438,20 @@ public class Config {
         public boolean removeForks = false;
         private boolean allowDeprecatedPlugins = false;
         private DuplicatePrStrategy duplicatePrStrategy = DuplicatePrStrategy.SKIP;
+        private int parallelism = Settings.DEFAULT_PARALLELISM;
+        private int fetchParallelism = 0;
+        private int publishParallelism = 0;
+        private boolean virtualThreads = false;
+        private boolean resume = false;
+        private boolean mavenDaemon = false;
+        private Path mavenDaemonHome = Settings.DEFAULT_MAVEN_DAEMON_HOME;
+        private boolean rewriteInProcess = false;
+        private int cloneDepth = 0;
+        private boolean gitMirror = false;
+        private Duration forkTimeout = Settings.DEFAULT_FORK_TIMEOUT;
+        private boolean githubPreflight = true;
+        private int publishRetries = Settings.DEFAULT_PUBLISH_RETRIES;
+        private boolean binaryCache = false;
 
         public Builder withVersion(String version) {
             this.version = version;
@@ -330,6 +498,13 @@ public class Config {
             return this;
         }
 
+        public Builder withRecipes(List<Recipe> recipes) {
+            if (recipes != null && !recipes.isEmpty()) {
+                this.recipe = Recipe.campaign(recipes);
+            }
+            return this;
+        }
+
         public Builder withJenkinsUpdateCenter(URL jenkinsUpdateCenter) {
             if (jenkinsUpdateCenter != null) {
                 this.jenkinsUpdateCenter = jenkinsUpdateCenter;
@@ -428,6 +603,86 @@ public class Config {
             return this;
         }
 
+        public Builder withParallelism(int parallelism) {
+            if (parallelism > 0) {
+                this.parallelism = parallelism;
+            }
+            return this;
+        }
+
+        public Builder withFetchParallelism(int fetchParallelism) {
+            if (fetchParallelism > 0) {
+                this.fetchParallelism = fetchParallelism;
+            }
+            return this;
+        }
+
+        public Builder withPublishParallelism(int publishParallelism) {
+            if (publishParallelism > 0) {
+                this.publishParallelism = publishParallelism;
+            }
+            return this;
+        }
+
+        public Builder withVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        public Builder withResume(boolean resume) {
+            this.resume = resume;
+            return this;
+        }
+
+        public Builder withMavenDaemon(boolean mavenDaemon) {
+            this.mavenDaemon = mavenDaemon;
+            return this;
+        }
+
+        public Builder withMavenDaemonHome(Path mavenDaemonHome) {
+            if (mavenDaemonHome != null) {
+                this.mavenDaemonHome = mavenDaemonHome;
+            }
+            return this;
+        }
+
+        public Builder withRewriteInProcess(boolean rewriteInProcess) {
+            this.rewriteInProcess = rewriteInProcess;
+            return this;
+        }
+
+        public Builder withCloneDepth(int cloneDepth) {
+            this.cloneDepth = cloneDepth;
+            return this;
+        }
+
+        public Builder withGitMirror(boolean gitMirror) {
+            this.gitMirror = gitMirror;
+            return this;
+        }
+
+        public Builder withForkTimeout(Duration forkTimeout) {
+            if (forkTimeout != null) {
+                this.forkTimeout = forkTimeout;
+            }
+            return this;
+        }
+
+        public Builder withGithubPreflight(boolean githubPreflight) {
+            this.githubPreflight = githubPreflight;
+            return this;
+        }
+
+        public Builder withPublishRetries(int publishRetries) {
+            this.publishRetries = publishRetries;
+            return this;
+        }
+
+        public Builder withBinaryCache(boolean binaryCache) {
+            this.binaryCache = binaryCache;
+            return this;
+        }
+
         public Config build() {
             return new Config(
                     version,
@@ -454,7 +709,21 @@ public class Config {
                     draft,
                     removeForks,
                     allowDeprecatedPlugins,
-                    duplicatePrStrategy);
+                    duplicatePrStrategy,
+                    parallelism,
+                    fetchParallelism,
+                    publishParallelism,
+                    virtualThreads,
+                    resume,
+                    mavenDaemon,
+                    mavenDaemonHome,
+                    rewriteInProcess,
+                    cloneDepth,
+                    gitMirror,
+                    forkTimeout,
+                    githubPreflight,
+                    publishRetries,
+                    binaryCache);
         }
     }
 }
@@ -13,6 +13,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -46,6 +47,8 @@ public class Settings {
 
     public static final Path DEFAULT_MAVEN_LOCAL_REPO;
 
+    public static final Path DEFAULT_MAVEN_DAEMON_HOME;
+
     public static final String MAVEN_REWRITE_PLUGIN_VERSION;
 
     public static final String GITHUB_TOKEN;
@@ -58,6 +61,10 @@ public class Settings {
 
     public static final String GITHUB_METADATA_REPOSITORY = "metadata-plugin-modernizer";
 
+    public static final String MIRRORS_DIRECTORY = ".mirrors";
+
+    public static final String GITHUB_HTTP_CACHE_DIRECTORY = ".github-http";
+
     public static final String ORGANIZATION = getTargetOrganisation();
 
     public static final String METADATA_ORGANISATION = getMetadataTargetOrganisation();
@@ -68,6 +75,20 @@ public class Settings {
 
     public static final Double PLUGIN_LOW_SCORE_THRESHOLD = 80.0;
 
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    public static final Duration DEFAULT_FORK_TIMEOUT = Duration.ofMinutes(2);
+
+    public static final int DEFAULT_PUBLISH_RETRIES = 3;
+
+    public static final Duration PUBLISH_RETRY_DELAY = Duration.ofSeconds(5);
+
+    public static final Duration MAX_PUBLISH_RETRY_DELAY = Duration.ofMinutes(1);
+
+    public static final int GITHUB_RATE_LIMIT_RESERVE = 100;
+
+    public static final Duration GITHUB_WRITE_INTERVAL = Duration.ofSeconds(1);
+
     public static final Predicate<String> JENKINS_VERSION_LTS_PATTERN =
             Pattern.compile("^\\d\\.(\\d+)\\.\\d$").asPredicate();
 
@@ -97,6 +118,7 @@ public class Settings {
         }
         DEFAULT_MAVEN_HOME = getDefaultMavenHome();
         DEFAULT_MAVEN_LOCAL_REPO = getDefaultMavenLocalRepo();
+        DEFAULT_MAVEN_DAEMON_HOME = getDefaultMavenDaemonHome();
         MAVEN_REWRITE_PLUGIN_VERSION = getRewritePluginVersion();
         String sshPrivateKey = System.getenv("SSH_PRIVATE_KEY");
         if (sshPrivateKey != null) {
@@ -181,6 +203,14 @@ public class Settings {
         return Path.of(mavenHome);
     }
 
+    private static Path getDefaultMavenDaemonHome() {
+        String mavenDaemonHome = System.getenv("MVND_HOME");
+        if (mavenDaemonHome == null) {
+            return null;
+        }
+        return Path.of(mavenDaemonHome);
+    }
+
     private static Path getDefaultMavenLocalRepo() {
         String mavenLocalRepo = System.getenv("MAVEN_LOCAL_REPO");
         if (mavenLocalRepo == null) {
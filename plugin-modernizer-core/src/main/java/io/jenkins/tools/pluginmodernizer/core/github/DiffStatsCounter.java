@@ -0,0 +1,149 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import io.jenkins.tools.pluginmodernizer.core.model.DiffStats;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.eclipse.jgit.diff.DiffAlgorithm;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.Edit;
+import org.eclipse.jgit.diff.RawText;
+import org.eclipse.jgit.diff.RawTextComparator;
+import org.eclipse.jgit.lib.AbbreviatedObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Count added and deleted lines of diff entries without rendering patches.
+ * Files are diffed in parallel, each with its own object reader. Binary files and files larger
+ * than {@link #MAX_FILE_SIZE} count as changed without lines so memory stays bounded.
+ */
+class DiffStatsCounter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DiffStatsCounter.class);
+
+    /**
+     * Maximum size in bytes of a file to count its lines
+     */
+    static final long MAX_FILE_SIZE = 1024 * 1024;
+
+    /**
+     * Same algorithm as git diff
+     */
+    private static final DiffAlgorithm ALGORITHM =
+            DiffAlgorithm.getAlgorithm(DiffAlgorithm.SupportedAlgorithm.HISTOGRAM);
+
+    /**
+     * The repository
+     */
+    private final Repository repository;
+
+    /**
+     * True if the new side of the entries is the working tree instead of the object database
+     */
+    private final boolean workingTree;
+
+    /**
+     * Create a new counter
+     * @param repository The repository
+     * @param workingTree True if the new side of the entries is the working tree
+     */
+    DiffStatsCounter(Repository repository, boolean workingTree) {
+        this.repository = repository;
+        this.workingTree = workingTree;
+    }
+
+    /**
+     * Count the lines of the given entries
+     * @param diffs The diff entries
+     * @return DiffStats (no. of additions, deletions and changed files)
+     * @throws IOException If objects can't be read
+     */
+    DiffStats count(List<DiffEntry> diffs) throws IOException {
+        try {
+            return diffs.parallelStream()
+                    .map(diff -> {
+                        try {
+                            return count(diff);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .reduce(
+                            new DiffStats(),
+                            (a, b) -> new DiffStats(
+                                    a.additions() + b.additions(),
+                                    a.deletions() + b.deletions(),
+                                    a.changedFiles() + b.changedFiles()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Count the lines of an entry
+     * @param diff The diff entry
+     * @return DiffStats of the single file
+     * @throws IOException If objects can't be read
+     */
+    private DiffStats count(DiffEntry diff) throws IOException {
+        if (diff.getOldMode() == FileMode.GITLINK || diff.getNewMode() == FileMode.GITLINK) {
+            return new DiffStats(0, 0, 1);
+        }
+        try (ObjectReader reader = repository.newObjectReader()) {
+            RawText oldText = diff.getChangeType() == DiffEntry.ChangeType.ADD
+                    ? RawText.EMPTY_TEXT
+                    : load(reader, diff.getOldId(), diff.getOldPath(), false);
+            RawText newText = diff.getChangeType() == DiffEntry.ChangeType.DELETE
+                    ? RawText.EMPTY_TEXT
+                    : load(reader, diff.getNewId(), diff.getNewPath(), workingTree);
+            if (oldText == null || newText == null) {
+                return new DiffStats(0, 0, 1);
+            }
+            int additions = 0;
+            int deletions = 0;
+            for (Edit edit : ALGORITHM.diff(RawTextComparator.DEFAULT, oldText, newText)) {
+                additions += edit.getEndB() - edit.getBeginB();
+                deletions += edit.getEndA() - edit.getBeginA();
+            }
+            return new DiffStats(additions, deletions, 1);
+        }
+    }
+
+    /**
+     * Load the text of one side of an entry
+     * @param reader The object reader
+     * @param id The object id
+     * @param path The path of the file
+     * @param fromWorkingTree True to read the file from the working tree
+     * @return The text or null if the file is binary or too large
+     * @throws IOException If the file or object can't be read
+     */
+    private RawText load(ObjectReader reader, AbbreviatedObjectId id, String path, boolean fromWorkingTree)
+            throws IOException {
+        byte[] content;
+        if (fromWorkingTree) {
+            Path file = repository.getWorkTree().toPath().resolve(path);
+            if (Files.size(file) > MAX_FILE_SIZE) {
+                LOG.debug("Not counting lines of large file {}", path);
+                return null;
+            }
+            content = Files.readAllBytes(file);
+        } else {
+            ObjectId objectId = id.toObjectId();
+            if (reader.getObjectSize(objectId, Constants.OBJ_BLOB) > MAX_FILE_SIZE) {
+                LOG.debug("Not counting lines of large file {}", path);
+                return null;
+            }
+            content = reader.open(objectId, Constants.OBJ_BLOB).getCachedBytes();
+        }
+        return RawText.isBinary(content) ? null : new RawText(content);
+    }
+}
@@ -0,0 +1,308 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fetch the state of many repositories and their forks with batched GraphQL queries
+ * instead of several REST calls per repository, and search the open pull requests of a campaign
+ */
+class GHPreflight {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GHPreflight.class);
+
+    /**
+     * Maximum number of repositories per query
+     */
+    static final int BATCH_SIZE = 100;
+
+    /**
+     * Maximum number of results GitHub returns for a search
+     */
+    static final int MAX_SEARCH_RESULTS = 1000;
+
+    /**
+     * Query of a page of open pull requests matching a search
+     */
+    private static final String SEARCH_QUERY =
+            """
+            query($search: String!, $after: String) {
+              search(query: $search, type: ISSUE, first: 100, after: $after) {
+                issueCount
+                pageInfo { hasNextPage endCursor }
+                nodes { ... on PullRequest { number headRefName repository { name } headRepositoryOwner { login } } }
+              }
+            }
+            """;
+
+    /**
+     * The GraphQL endpoint
+     */
+    private final URI endpoint;
+
+    /**
+     * The HTTP client
+     */
+    private final HttpClient client;
+
+    /**
+     * The scheduler tracking the GraphQL rate limit
+     */
+    private final GHRequestScheduler scheduler;
+
+    /**
+     * Create a new pre-flight client
+     * @param apiUrl The URL of the GitHub REST API
+     * @param client The HTTP client
+     * @param scheduler The scheduler tracking the GraphQL rate limit
+     */
+    GHPreflight(String apiUrl, HttpClient client, GHRequestScheduler scheduler) {
+        this.endpoint = getGraphQLEndpoint(apiUrl);
+        this.client = client;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Fetch the state of the given repositories
+     * @param token The token to authenticate with
+     * @param upstreamOwner The owner of the upstream repositories
+     * @param forkOwner The owner of the forks
+     * @param repositoryNames The name of the repositories
+     * @return The state by repository name. Repositories that can't be found are missing
+     */
+    Map<String, RepositoryState> fetch(
+            String token, String upstreamOwner, String forkOwner, List<String> repositoryNames) {
+        Map<String, RepositoryState> states = new HashMap<>();
+        for (int i = 0; i < repositoryNames.size(); i += BATCH_SIZE) {
+            List<String> batch = repositoryNames.subList(i, Math.min(i + BATCH_SIZE, repositoryNames.size()));
+            String query = buildQuery(upstreamOwner, forkOwner, batch);
+            states.putAll(parse(post(token, query), batch));
+        }
+        return states;
+    }
+
+    /**
+     * Build the query for a batch of repositories
+     * @param upstreamOwner The owner of the upstream repositories
+     * @param forkOwner The owner of the forks
+     * @param repositoryNames The name of the repositories
+     * @return The GraphQL query
+     */
+    static String buildQuery(String upstreamOwner, String forkOwner, List<String> repositoryNames) {
+        StringBuilder query = new StringBuilder("query {\n  rateLimit { cost remaining }\n");
+        for (int i = 0; i < repositoryNames.size(); i++) {
+            String name = quote(repositoryNames.get(i));
+            query.append("  u%d: repository(owner: %s, name: %s) {".formatted(i, quote(upstreamOwner), name))
+                    .append(" isArchived pullRequests(states: OPEN, first: 100) {")
+                    .append(" pageInfo { hasNextPage } nodes { headRefName headRepositoryOwner { login } } } }\n");
+            query.append("  f%d: repository(owner: %s, name: %s) { isFork }\n".formatted(i, quote(forkOwner), name));
+        }
+        return query.append("}").toString();
+    }
+
+    /**
+     * Parse the response of a query
+     * @param response The JSON response
+     * @param repositoryNames The name of the repositories of the query
+     * @return The state by repository name
+     */
+    static Map<String, RepositoryState> parse(String response, List<String> repositoryNames) {
+        JsonObject data = getData(response);
+        if (data.has("rateLimit") && !data.get("rateLimit").isJsonNull()) {
+            JsonObject rateLimit = data.getAsJsonObject("rateLimit");
+            LOG.debug(
+                    "Pre-flight query cost {}. Remaining {}",
+                    rateLimit.get("cost").getAsInt(),
+                    rateLimit.get("remaining").getAsInt());
+        }
+        Map<String, RepositoryState> states = new HashMap<>();
+        for (int i = 0; i < repositoryNames.size(); i++) {
+            JsonElement upstream = data.get("u" + i);
+            if (upstream == null || upstream.isJsonNull()) {
+                LOG.debug("Repository {} not found during pre-flight", repositoryNames.get(i));
+                continue;
+            }
+            JsonObject repository = upstream.getAsJsonObject();
+            JsonObject pullRequests = repository.getAsJsonObject("pullRequests");
+            Set<String> heads = new HashSet<>();
+            for (JsonElement node : pullRequests.getAsJsonArray("nodes")) {
+                JsonElement owner = node.getAsJsonObject().get("headRepositoryOwner");
+                // Head repository of the pull request was deleted
+                if (owner == null || owner.isJsonNull()) {
+                    continue;
+                }
+                heads.add(owner.getAsJsonObject().get("login").getAsString() + ":"
+                        + node.getAsJsonObject().get("headRefName").getAsString());
+            }
+            boolean complete = !pullRequests
+                    .getAsJsonObject("pageInfo")
+                    .get("hasNextPage")
+                    .getAsBoolean();
+            // A repository of the fork owner with the same name is not necessarily a fork
+            JsonElement fork = data.get("f" + i);
+            boolean forked = fork != null
+                    && !fork.isJsonNull()
+                    && fork.getAsJsonObject().has("isFork")
+                    && fork.getAsJsonObject().get("isFork").getAsBoolean();
+            states.put(
+                    repositoryNames.get(i),
+                    new RepositoryState(repository.get("isArchived").getAsBoolean(), forked, heads, complete));
+        }
+        return states;
+    }
+
+    /**
+     * Search the open pull requests of the given author in the organization
+     * @param token The token to authenticate with
+     * @param organization The organization of the upstream repositories
+     * @param author The author of the pull requests
+     * @return The index of the open pull requests
+     */
+    PullRequestIndex searchPullRequests(String token, String organization, String author) {
+        JsonObject variables = new JsonObject();
+        variables.addProperty("search", "is:pr is:open org:%s author:%s".formatted(organization, author));
+        Map<String, Map<String, Integer>> pullRequests = new HashMap<>();
+        SearchPage page;
+        do {
+            page = parseSearchPage(post(token, SEARCH_QUERY, variables), pullRequests);
+            variables.addProperty("after", page.endCursor());
+        } while (page.hasNextPage());
+        boolean complete = page.issueCount() <= MAX_SEARCH_RESULTS;
+        if (!complete) {
+            LOG.info("More than {} open pull requests found. Not all are indexed", MAX_SEARCH_RESULTS);
+        }
+        return new PullRequestIndex(pullRequests, complete);
+    }
+
+    /**
+     * Parse a page of pull requests search results
+     * @param response The JSON response
+     * @param pullRequests The number of the pull requests by repository name and head to fill
+     * @return The page information
+     */
+    static SearchPage parseSearchPage(String response, Map<String, Map<String, Integer>> pullRequests) {
+        JsonObject search = getData(response).getAsJsonObject("search");
+        for (JsonElement element : search.getAsJsonArray("nodes")) {
+            JsonObject node = element.getAsJsonObject();
+            JsonElement owner = node.get("headRepositoryOwner");
+            // Not a pull request or head repository was deleted
+            if (!node.has("number") || owner == null || owner.isJsonNull()) {
+                continue;
+            }
+            String head = owner.getAsJsonObject().get("login").getAsString() + ":"
+                    + node.get("headRefName").getAsString();
+            pullRequests
+                    .computeIfAbsent(
+                            node.getAsJsonObject("repository").get("name").getAsString(), name -> new HashMap<>())
+                    .put(head, node.get("number").getAsInt());
+        }
+        JsonObject pageInfo = search.getAsJsonObject("pageInfo");
+        boolean hasNextPage = pageInfo.get("hasNextPage").getAsBoolean();
+        return new SearchPage(
+                search.get("issueCount").getAsInt(),
+                hasNextPage,
+                hasNextPage ? pageInfo.get("endCursor").getAsString() : null);
+    }
+
+    /**
+     * Get the data of a response
+     * @param response The JSON response
+     * @return The data
+     */
+    private static JsonObject getData(String response) {
+        JsonObject root = JsonParser.parseString(response).getAsJsonObject();
+        if (!root.has("data") || root.get("data").isJsonNull()) {
+            throw new ModernizerException("GraphQL query failed: " + root.get("errors"));
+        }
+        return root.getAsJsonObject("data");
+    }
+
+    /**
+     * Send a query
+     * @param token The token to authenticate with
+     * @param query The GraphQL query
+     * @return The JSON response
+     */
+    private String post(String token, String query) {
+        return post(token, query, new JsonObject());
+    }
+
+    /**
+     * Send a query with variables
+     * @param token The token to authenticate with
+     * @param query The GraphQL query
+     * @param variables The variables of the query
+     * @return The JSON response
+     */
+    private String post(String token, String query, JsonObject variables) {
+        JsonObject body = new JsonObject();
+        body.addProperty("query", query);
+        body.add("variables", variables);
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(1))
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        try {
+            HttpResponse<String> response = scheduler.send(client, request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new ModernizerException(
+                        "GraphQL query failed with status " + response.statusCode() + ": " + response.body());
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new ModernizerException("GraphQL query failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModernizerException("GraphQL query interrupted", e);
+        }
+    }
+
+    /**
+     * Quote a string as a GraphQL string literal
+     * @param value The value
+     * @return The quoted value
+     */
+    private static String quote(String value) {
+        return new JsonPrimitive(value).toString();
+    }
+
+    /**
+     * Get the GraphQL endpoint from the REST API URL. GitHub Enterprise exposes the REST API under /api/v3
+     * and the GraphQL API under /api/graphql
+     * @param apiUrl The URL of the GitHub REST API
+     * @return The GraphQL endpoint
+     */
+    static URI getGraphQLEndpoint(String apiUrl) {
+        String url = apiUrl.replaceAll("/+$", "");
+        if (url.endsWith("/v3")) {
+            url = url.substring(0, url.length() - "/v3".length());
+        }
+        return URI.create(url + "/graphql");
+    }
+
+    /**
+     * A page of search results
+     * @param issueCount The total number of results
+     * @param hasNextPage True if there are more results
+     * @param endCursor The cursor of the next page
+     */
+    record SearchPage(int issueCount, boolean hasNextPage, String endCursor) {}
+}
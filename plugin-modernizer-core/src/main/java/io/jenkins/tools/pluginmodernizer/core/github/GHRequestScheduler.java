@@ -0,0 +1,314 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * GitHub connector through which all requests of the GitHub client go.
+ * It tracks the rate limit headers of responses and paces requests so the whole campaign waits
+ * instead of failing plugin by plugin:
+ * <ul>
+ *     <li>Read-only requests wait for the reset once the remaining budget reaches the reserve,
+ *     so the reserve is kept for writes like pull request creation</li>
+ *     <li>Writes are sent one at a time and spaced as recommended to avoid secondary rate limits</li>
+ *     <li>A secondary rate limit pauses all requests until its retry delay is over</li>
+ * </ul>
+ */
+class GHRequestScheduler implements GitHubConnector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GHRequestScheduler.class);
+
+    /**
+     * Methods that don't modify anything
+     */
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD");
+
+    /**
+     * Resource of the rate limit used by most endpoints
+     */
+    static final String CORE = "core";
+
+    /**
+     * Minimum pause when a secondary rate limit is hit without retry delay
+     */
+    private static final Duration SECONDARY_LIMIT_PAUSE = Duration.ofMinutes(1);
+
+    /**
+     * The connector sending the requests
+     */
+    private final GitHubConnector delegate;
+
+    /**
+     * Remaining requests kept for writes
+     */
+    private final int reserve;
+
+    /**
+     * Minimum delay between two writes
+     */
+    private final Duration writeInterval;
+
+    /**
+     * The clock
+     */
+    private final Clock clock;
+
+    /**
+     * Budget by rate limit resource
+     */
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * Writes are sent one at a time
+     */
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+
+    /**
+     * All requests wait until this instant
+     */
+    private Instant pausedUntil = Instant.EPOCH;
+
+    /**
+     * Instant of the last write
+     */
+    private Instant lastWrite = Instant.EPOCH;
+
+    /**
+     * Create a new scheduler
+     * @param delegate The connector sending the requests
+     * @param reserve Remaining requests kept for writes
+     * @param writeInterval Minimum delay between two writes
+     */
+    GHRequestScheduler(GitHubConnector delegate, int reserve, Duration writeInterval) {
+        this(delegate, reserve, writeInterval, Clock.systemUTC());
+    }
+
+    /**
+     * Create a new scheduler
+     * @param delegate The connector sending the requests
+     * @param reserve Remaining requests kept for writes
+     * @param writeInterval Minimum delay between two writes
+     * @param clock The clock
+     */
+    GHRequestScheduler(GitHubConnector delegate, int reserve, Duration writeInterval, Clock clock) {
+        this.delegate = delegate;
+        this.reserve = reserve;
+        this.writeInterval = writeInterval;
+        this.clock = clock;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        boolean write = !READ_METHODS.contains(request.method());
+        String resource = getResource(request);
+        if (write) {
+            writeLock.lock();
+        }
+        try {
+            acquire(resource, write);
+            GitHubConnectorResponse response = delegate.send(request);
+            update(resource, response);
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for GitHub rate limit");
+        } finally {
+            if (write) {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Send a GraphQL query, which doesn't go through the GitHub client, within the budget of its resource.
+     * Queries are reads
+     * @param client The HTTP client
+     * @param request The request
+     * @param bodyHandler The handler of the response body
+     * @return The response
+     * @param <T> The type of the response body
+     * @throws IOException If the request failed
+     * @throws InterruptedException If interrupted while waiting or sending
+     */
+    <T> HttpResponse<T> send(HttpClient client, HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        String resource = getResource(request.uri().getPath());
+        acquire(resource, false);
+        HttpResponse<T> response = client.send(request, bodyHandler);
+        update(resource, response.statusCode(), name -> response.headers().firstValue(name).orElse(null));
+        return response;
+    }
+
+    /**
+     * Return the remaining requests of the core rate limit
+     * @return The remaining requests or -1 if unknown
+     */
+    int getRemaining() {
+        Budget budget = budgets.get(CORE);
+        return budget == null ? -1 : budget.remaining;
+    }
+
+    /**
+     * Wait until a request can be sent and take it from the budget
+     * @param resource The rate limit resource of the request
+     * @param write True if the request is a write
+     * @throws InterruptedException If interrupted while waiting
+     */
+    void acquire(String resource, boolean write) throws InterruptedException {
+        while (true) {
+            Duration delay;
+            synchronized (this) {
+                Instant now = clock.instant();
+                Instant until = pausedUntil;
+                Budget budget = budgets.get(resource);
+                if (budget != null
+                        && budget.reset.isAfter(now)
+                        && budget.remaining <= (write ? 0 : Math.min(reserve, budget.limit / 2))) {
+                    until = max(until, budget.reset);
+                }
+                if (write) {
+                    until = max(until, lastWrite.plus(writeInterval));
+                }
+                if (!until.isAfter(now)) {
+                    if (budget != null && budget.remaining > 0) {
+                        budget.remaining--;
+                    }
+                    if (write) {
+                        lastWrite = now;
+                    }
+                    return;
+                }
+                delay = Duration.between(now, until);
+            }
+            if (delay.compareTo(Duration.ofSeconds(10)) > 0) {
+                LOG.info("Waiting {}s for GitHub {} rate limit", delay.toSeconds(), resource);
+            }
+            sleep(delay);
+        }
+    }
+
+    /**
+     * Update the budget from the headers of a response
+     * @param resource The rate limit resource of the request
+     * @param response The response
+     */
+    void update(String resource, GitHubConnectorResponse response) {
+        update(resource, response.statusCode(), response::header);
+    }
+
+    /**
+     * Update the budget from the headers of a response
+     * @param resource The rate limit resource of the request
+     * @param status The status code of the response
+     * @param headers The headers of the response by name
+     */
+    private void update(String resource, int status, UnaryOperator<String> headers) {
+        Instant now = clock.instant();
+        String remaining = headers.apply("X-RateLimit-Remaining");
+        String limit = headers.apply("X-RateLimit-Limit");
+        String reset = headers.apply("X-RateLimit-Reset");
+        String responseResource = headers.apply("X-RateLimit-Resource");
+        String retryAfter = headers.apply("Retry-After");
+        synchronized (this) {
+            if (remaining != null && limit != null && reset != null) {
+                try {
+                    Budget budget = new Budget(
+                            Integer.parseInt(remaining),
+                            Integer.parseInt(limit),
+                            Instant.ofEpochSecond(Long.parseLong(reset)));
+                    budgets.put(responseResource != null ? responseResource : resource, budget);
+                    if (budget.remaining == 0 && (status == 403 || status == 429)) {
+                        pausedUntil = max(pausedUntil, budget.reset);
+                    }
+                } catch (NumberFormatException e) {
+                    LOG.debug("Invalid rate limit headers {} {} {}", remaining, limit, reset);
+                }
+            }
+            if (status == 403 || status == 429) {
+                Duration pause = null;
+                if (retryAfter != null) {
+                    try {
+                        pause = Duration.ofSeconds(Long.parseLong(retryAfter));
+                    } catch (NumberFormatException e) {
+                        LOG.debug("Invalid Retry-After header {}", retryAfter);
+                    }
+                } else if (status == 429 && !"0".equals(remaining)) {
+                    pause = SECONDARY_LIMIT_PAUSE;
+                }
+                if (pause != null) {
+                    LOG.warn("GitHub secondary rate limit hit. Pausing all requests for {}s", pause.toSeconds());
+                    pausedUntil = max(pausedUntil, now.plus(pause));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sleep for the given delay
+     * @param delay The delay
+     * @throws InterruptedException If interrupted
+     */
+    void sleep(Duration delay) throws InterruptedException {
+        Thread.sleep(delay);
+    }
+
+    /**
+     * Get the rate limit resource of a request
+     * @param request The request
+     * @return The resource
+     */
+    static String getResource(GitHubConnectorRequest request) {
+        return getResource(request.url().getPath());
+    }
+
+    /**
+     * Get the rate limit resource of a request
+     * @param path The path of the request URL
+     * @return The resource
+     */
+    static String getResource(String path) {
+        if (path.contains("/search/")) {
+            return "search";
+        }
+        if (path.endsWith("/graphql")) {
+            return "graphql";
+        }
+        return CORE;
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Budget of a rate limit resource
+     */
+    private static final class Budget {
+
+        private int remaining;
+        private final int limit;
+        private final Instant reset;
+
+        private Budget(int remaining, int limit, Instant reset) {
+            this.remaining = remaining;
+            this.limit = limit;
+            this.reset = reset;
+        }
+    }
+}
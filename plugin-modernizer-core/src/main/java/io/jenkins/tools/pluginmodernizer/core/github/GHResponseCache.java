@@ -0,0 +1,292 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk HTTP cache of the GitHub client.
+ * Successful GET responses are stored with their validators and later requests for the same resource
+ * are sent with If-None-Match/If-Modified-Since. A 304 response, which doesn't count against the rate limit,
+ * is replaced by the stored response.
+ */
+class GHResponseCache implements GitHubConnector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GHResponseCache.class);
+
+    /**
+     * Headers not restored from the cache. The stored body is already decoded
+     */
+    private static final Set<String> SKIPPED_HEADERS =
+            Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    /**
+     * Gson instance
+     */
+    private static final Gson GSON = new Gson();
+
+    /**
+     * The connector sending the requests
+     */
+    private final GitHubConnector delegate;
+
+    /**
+     * Directory of the cached responses
+     */
+    private final Path directory;
+
+    /**
+     * Create a new cache
+     * @param delegate The connector sending the requests
+     * @param directory Directory of the cached responses
+     */
+    GHResponseCache(GitHubConnector delegate, Path directory) {
+        this.delegate = delegate;
+        this.directory = directory;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        if (!"GET".equals(request.method())) {
+            return delegate.send(request);
+        }
+        String key = getKey(request);
+        CachedResponse cached = read(key);
+        if (cached == null) {
+            return store(key, request, delegate.send(request));
+        }
+        Map<String, List<String>> conditionalHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        conditionalHeaders.putAll(request.allHeaders());
+        if (cached.etag != null) {
+            conditionalHeaders.put("If-None-Match", List.of(cached.etag));
+        }
+        if (cached.lastModified != null) {
+            conditionalHeaders.put("If-Modified-Since", List.of(cached.lastModified));
+        }
+        GitHubConnectorResponse response = delegate.send(new ConditionalRequest(request, conditionalHeaders));
+        if (response.statusCode() != 304) {
+            return store(key, request, response);
+        }
+        byte[] body = readBody(key);
+        if (body == null) {
+            response.close();
+            return store(key, request, delegate.send(request));
+        }
+        LOG.debug("Not modified {}", request.url());
+        // Keep the fresh rate limit headers of the 304 response
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(cached.headers);
+        response.allHeaders().forEach((name, values) -> {
+            if (name != null && name.toLowerCase().startsWith("x-ratelimit")) {
+                headers.put(name, values);
+            }
+        });
+        response.close();
+        return new CachedConnectorResponse(request, 200, headers, body);
+    }
+
+    /**
+     * Store a successful response having validators
+     * @param key The cache key
+     * @param request The request
+     * @param response The response
+     * @return The response to return to the client
+     * @throws IOException If the body can't be read
+     */
+    private GitHubConnectorResponse store(String key, GitHubConnectorRequest request, GitHubConnectorResponse response)
+            throws IOException {
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        if (response.statusCode() != 200 || (etag == null && lastModified == null)) {
+            return response;
+        }
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        response.allHeaders().forEach((name, values) -> {
+            if (name != null && !SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, values);
+            }
+        });
+        byte[] body;
+        try (response;
+                InputStream stream = response.bodyStream()) {
+            body = stream.readAllBytes();
+        }
+        CachedResponse cached = new CachedResponse();
+        cached.etag = etag;
+        cached.lastModified = lastModified;
+        cached.headers = headers;
+        try {
+            Files.createDirectories(directory);
+            write(directory.resolve(key + ".body"), body);
+            write(directory.resolve(key + ".json"), GSON.toJson(cached).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.debug("Unable to cache response of {}", request.url(), e);
+        }
+        return new CachedConnectorResponse(request, response.statusCode(), headers, body);
+    }
+
+    /**
+     * Read a cached response
+     * @param key The cache key
+     * @return The cached response or null if not cached or not readable
+     */
+    private CachedResponse read(String key) {
+        Path file = directory.resolve(key + ".json");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            CachedResponse cached = GSON.fromJson(Files.readString(file), CachedResponse.class);
+            return cached != null && cached.headers != null ? cached : null;
+        } catch (IOException | JsonSyntaxException e) {
+            LOG.debug("Unable to read cached response {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Read the body of a cached response
+     * @param key The cache key
+     * @return The body or null if not readable
+     */
+    private byte[] readBody(String key) {
+        try {
+            return Files.readAllBytes(directory.resolve(key + ".body"));
+        } catch (IOException e) {
+            LOG.debug("Unable to read cached body {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Write a file atomically so concurrent readers never see a partial file
+     * @param file The file
+     * @param content The content
+     * @throws IOException If the file can't be written
+     */
+    private static void write(Path file, byte[] content) throws IOException {
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        Files.write(tmp, content);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Get the cache key of a request. Credentials are not part of the key so entries survive token refreshes,
+     * cached responses are always revalidated with the current credentials
+     * @param request The request
+     * @return The cache key
+     */
+    static String getKey(GitHubConnectorRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.url().toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(request.header("Accept")).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Validators and headers of a cached response
+     */
+    private static final class CachedResponse {
+        private String etag;
+        private String lastModified;
+        private Map<String, List<String>> headers;
+    }
+
+    /**
+     * Request with conditional headers
+     */
+    private static final class ConditionalRequest implements GitHubConnectorRequest {
+
+        private final GitHubConnectorRequest request;
+        private final Map<String, List<String>> headers;
+
+        private ConditionalRequest(GitHubConnectorRequest request, Map<String, List<String>> headers) {
+            this.request = request;
+            this.headers = headers;
+        }
+
+        @Override
+        public String method() {
+            return request.method();
+        }
+
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            return headers;
+        }
+
+        @Override
+        public String header(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? null : String.join(",", values);
+        }
+
+        @Override
+        public String contentType() {
+            return request.contentType();
+        }
+
+        @Override
+        public InputStream body() {
+            return request.body();
+        }
+
+        @Override
+        public URL url() {
+            return request.url();
+        }
+
+        @Override
+        public boolean hasBody() {
+            return request.hasBody();
+        }
+    }
+
+    /**
+     * Response with a body held in memory
+     */
+    private static final class CachedConnectorResponse extends GitHubConnectorResponse {
+
+        private final byte[] body;
+
+        private CachedConnectorResponse(
+                GitHubConnectorRequest request, int statusCode, Map<String, List<String>> headers, byte[] body) {
+            super(request, statusCode, headers);
+            this.body = body;
+        }
+
+        @Override
+        protected InputStream rawBodyStream() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release
+        }
+    }
+}
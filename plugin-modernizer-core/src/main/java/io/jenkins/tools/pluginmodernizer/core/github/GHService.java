@@ -9,40 +9,46 @@ import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
 import io.jenkins.tools.pluginmodernizer.core.model.RepoType;
 import io.jenkins.tools.pluginmodernizer.core.utils.JWTUtils;
 import jakarta.inject.Inject;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.net.http.HttpClient;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.StreamSupport;
 import org.apache.sshd.client.SshClient;
 import org.apache.sshd.common.keyprovider.FileKeyPairProvider;
 import org.apache.sshd.git.transport.GitSshdSessionFactory;
+import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.CommitCommand;
+import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.Status;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.RefAlreadyExistsException;
 import org.eclipse.jgit.api.errors.RefNotFoundException;
+import org.eclipse.jgit.api.errors.TransportException;
 import org.eclipse.jgit.diff.DiffEntry;
-import org.eclipse.jgit.diff.DiffFormatter;
-import org.eclipse.jgit.diff.Edit;
-import org.eclipse.jgit.diff.EditList;
-import org.eclipse.jgit.diff.RawTextComparator;
 import org.eclipse.jgit.dircache.DirCacheIterator;
 import org.eclipse.jgit.errors.MissingObjectException;
 import org.eclipse.jgit.errors.UnsupportedCredentialItem;
 import org.eclipse.jgit.internal.signing.ssh.SshSigner;
+import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
 import org.eclipse.jgit.transport.CredentialItem;
@@ -67,6 +73,7 @@ import org.kohsuke.github.GHRepositoryForkBuilder;
 import org.kohsuke.github.GHUser;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -79,24 +86,81 @@ public class GHService {
      */
     private static final Set<String> ALLOWED_TAGS = Set.of("chore", "dependencies", "developer");
 
+    /**
+     * Maximum delay between two checks of a new fork
+     */
+    private static final Duration MAX_FORK_POLL_DELAY = Duration.ofSeconds(5);
+
     @Inject
     private Config config;
 
     /**
      * The GitHub client
      */
-    private GitHub github;
+    private volatile GitHub github;
 
     /**
      * The GitHub App if connected by GitHub App
      */
-    private GHApp app;
+    private volatile GHApp app;
+
+    /**
+     * Scheduler through which all requests of the GitHub client go
+     */
+    private final GHRequestScheduler scheduler = new GHRequestScheduler(
+            GitHubConnector.DEFAULT, Settings.GITHUB_RATE_LIMIT_RESERVE, Settings.GITHUB_WRITE_INTERVAL);
+
+    /**
+     * HTTP client of the GraphQL queries
+     */
+    private final HttpClient graphQLClient = HttpClient.newHttpClient();
+
+    /**
+     * Connector of the GitHub client, caching responses on disk before going through the scheduler
+     */
+    private GitHubConnector connector;
+
+    /**
+     * The token of the GitHub client
+     */
+    private volatile String token;
+
+    /**
+     * State of plugin repositories fetched in batch by repository name
+     */
+    private final Map<String, RepositoryState> repositoryStates = new ConcurrentHashMap<>();
+
+    /**
+     * Index of the open pull requests of the campaign. Built on first use
+     */
+    private PullRequestIndex pullRequestIndex;
 
     /**
      * If the authentication is done using SSH key
      */
     private boolean sshKeyAuth = false;
 
+    /**
+     * Mirrors already updated during this run
+     */
+    private final Set<Path> updatedMirrors = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Locks preventing concurrent updates of the same mirror
+     */
+    private final Map<Path, Object> mirrorLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Readiness of new forks by repository name. Completed once the default branch of the fork is visible,
+     * then removed
+     */
+    private final Map<String, CompletableFuture<Void>> forksReady = new ConcurrentHashMap<>();
+
+    /**
+     * Repository names of forks created during this run and not synced yet. Cleared by their first sync
+     */
+    private final Set<String> newForks = ConcurrentHashMap.newKeySet();
+
     /**
      * Validate the configuration of the GHService
      */
@@ -161,7 +225,9 @@ public class GHService {
                 github = new GitHubBuilder()
                         .withEndpoint(config.getGithubApiUrl().toString())
                         .withAppInstallationToken(appInstallationToken.getToken())
+                        .withConnector(getConnector())
                         .build();
+                token = appInstallationToken.getToken();
                 LOG.debug("Connected to GitHub using GitHub App");
             }
             // Connect with token
@@ -170,7 +236,9 @@ public class GHService {
                 github = new GitHubBuilder()
                         .withEndpoint(config.getGithubApiUrl().toString())
                         .withOAuthToken(Settings.GITHUB_TOKEN)
+                        .withConnector(getConnector())
                         .build();
+                token = Settings.GITHUB_TOKEN;
             }
             GHUser user = getCurrentUser();
             if (user == null) {
@@ -208,7 +276,7 @@ public class GHService {
      *
      * @param installationId The installation ID
      */
-    public void refreshToken(Long installationId) {
+    public synchronized void refreshToken(Long installationId) {
         if (installationId == null) {
             LOG.debug("Installation ID is not set. Skipping token refresh");
             return;
@@ -223,7 +291,9 @@ public class GHService {
                     app.getInstallationById(installationId).createToken().create();
             github = new GitHubBuilder()
                     .withAppInstallationToken(appInstallationToken.getToken())
+                    .withConnector(getConnector())
                     .build();
+            token = appInstallationToken.getToken();
             this.app = app;
             LOG.debug("Refreshed token for GitHub App installation ID {}", installationId);
         } catch (IOException e) {
@@ -231,6 +301,82 @@ public class GHService {
         }
     }
 
+    /**
+     * Get the connector of the GitHub client
+     * @return The connector
+     */
+    private synchronized GitHubConnector getConnector() {
+        if (connector == null) {
+            connector = new GHResponseCache(
+                    scheduler, config.getCachePath().resolve(Settings.GITHUB_HTTP_CACHE_DIRECTORY));
+        }
+        return connector;
+    }
+
+    /**
+     * Return the remaining requests of the GitHub API core rate limit as seen by the last response
+     * @return The remaining requests or -1 if unknown
+     */
+    public int getRateLimitRemaining() {
+        return scheduler.getRemaining();
+    }
+
+    /**
+     * Fetch in batch the archived, forked and open pull requests state of the given plugin repositories.
+     * Later checks use this state instead of calling the REST API for each plugin
+     *
+     * @param repositoryNames The name of the plugin repositories
+     */
+    public void preflight(List<String> repositoryNames) {
+        if (github == null || token == null || repositoryNames.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, RepositoryState> states =
+                    newGraphQLClient().fetch(token, Settings.ORGANIZATION, getGithubOwner(), repositoryNames);
+            repositoryStates.putAll(states);
+            LOG.info("Fetched state of {} repositories in batch", states.size());
+        } catch (ModernizerException e) {
+            LOG.warn("Failed to fetch state of repositories in batch. Will check them one by one", e);
+        }
+    }
+
+    /**
+     * Get the index of the open pull requests of the campaign. A single search finds all open pull requests
+     * of the current user across the organization on first use. The search doesn't cover pull requests of
+     * other authors from the same fork, so a lookup that finds nothing must fall back to the REST API
+     *
+     * @return The index. Not complete if the search is not possible or failed
+     */
+    private synchronized PullRequestIndex getPullRequestIndex() {
+        if (pullRequestIndex != null) {
+            return pullRequestIndex;
+        }
+        pullRequestIndex = PullRequestIndex.UNAVAILABLE;
+        if (github == null || token == null) {
+            return pullRequestIndex;
+        }
+        try {
+            String login = getCurrentUser().getLogin();
+            // Bots are searched as apps
+            String author = login.endsWith("[bot]") ? "app/" + login.substring(0, login.length() - 5) : login;
+            pullRequestIndex = newGraphQLClient().searchPullRequests(token, Settings.ORGANIZATION, author);
+            LOG.info("Found {} open pull requests from {}", pullRequestIndex.size(), author);
+        } catch (ModernizerException e) {
+            LOG.warn("Failed to search open pull requests. Will list them for each plugin", e);
+        }
+        return pullRequestIndex;
+    }
+
+    /**
+     * Create a client for the GraphQL API
+     *
+     * @return The client
+     */
+    private GHPreflight newGraphQLClient() {
+        return new GHPreflight(config.getGithubApiUrl().toString(), graphQLClient, scheduler);
+    }
+
     /**
      * Get the repository object for a plugin
      *
@@ -283,6 +429,10 @@ public class GHService {
         if (plugin.isLocal()) {
             return false;
         }
+        RepositoryState state = repoType == RepoType.PLUGIN ? repositoryStates.get(plugin.getRepositoryName()) : null;
+        if (state != null) {
+            return state.forked();
+        }
         try {
             GHOrganization organization = getOrganization();
             if (organization != null) {
@@ -304,6 +454,10 @@ public class GHService {
         if (plugin.isLocal()) {
             return false;
         }
+        RepositoryState state = repositoryStates.get(plugin.getRepositoryName());
+        if (state != null) {
+            return state.archived();
+        }
         return plugin.getRemoteRepository(this).isArchived();
     }
 
@@ -331,6 +485,7 @@ public class GHService {
         try {
             GHRepository fork = forkRepoType(plugin, repoType);
             LOG.debug("Forked repository: {}", fork.getHtmlUrl());
+            repositoryStates.computeIfPresent(repositoryName, (name, state) -> state.withForked(true));
         } catch (IOException | InterruptedException e) {
             plugin.addError("Failed to fork the" + repoType.getType() + "repository", e);
             plugin.raiseLastError();
@@ -371,7 +526,7 @@ public class GHService {
                 return fork;
             } else {
                 GHRepository fork = forkRepository(originalRepo, organization);
-                Thread.sleep(5000); // Wait for the fork to be ready
+                awaitForkReadyAsync(repoType.getRepositoryName(plugin), fork);
                 return fork;
             }
         } else {
@@ -384,12 +539,78 @@ public class GHService {
                 return fork;
             } else {
                 GHRepository fork = forkRepository(originalRepo);
-                Thread.sleep(5000); // Wait for the fork to be ready
+                awaitForkReadyAsync(repoType.getRepositoryName(plugin), fork);
                 return fork;
             }
         }
     }
 
+    /**
+     * Start waiting in background for a new fork to be ready
+     *
+     * @param repositoryName The name of the forked repository
+     * @param fork The new fork
+     */
+    private void awaitForkReadyAsync(String repositoryName, GHRepository fork) {
+        Duration timeout = config.getForkTimeout();
+        if (timeout == null || timeout.isZero()) {
+            return;
+        }
+        newForks.add(repositoryName);
+        CompletableFuture<Void> ready =
+                CompletableFuture.runAsync(() -> awaitForkReady(fork, timeout), Thread.ofVirtual()::start);
+        forksReady.put(repositoryName, ready);
+        ready.whenComplete((result, e) -> forksReady.remove(repositoryName, ready));
+    }
+
+    /**
+     * Poll the fork with exponential backoff until its default branch is visible or the timeout is reached
+     *
+     * @param fork The new fork
+     * @param timeout The maximum time to wait
+     */
+    private void awaitForkReady(GHRepository fork, Duration timeout) {
+        Instant deadline = Instant.now().plus(timeout);
+        Duration delay = Duration.ofMillis(250);
+        while (true) {
+            try {
+                fork.getRef("heads/" + fork.getDefaultBranch());
+                LOG.debug("Fork {} is ready", fork.getFullName());
+                return;
+            } catch (IOException e) {
+                LOG.debug("Fork {} not ready yet: {}", fork.getFullName(), e.getMessage());
+            }
+            if (Instant.now().plus(delay).isAfter(deadline)) {
+                LOG.warn("Fork {} still not ready after {}. Continuing anyway", fork.getFullName(), timeout);
+                return;
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delay = delay.multipliedBy(2);
+            if (delay.compareTo(MAX_FORK_POLL_DELAY) > 0) {
+                delay = MAX_FORK_POLL_DELAY;
+            }
+        }
+    }
+
+    /**
+     * Wait for a fork created during this run to be ready. Returns immediately for existing forks
+     *
+     * @param plugin The plugin
+     * @param repoType The repo type of the fork
+     */
+    private void awaitFork(Plugin plugin, RepoType repoType) {
+        CompletableFuture<Void> ready = forksReady.get(repoType.getRepositoryName(plugin));
+        if (ready != null && !ready.isDone()) {
+            LOG.info("Waiting for fork of {} {} to be ready...", repoType.getType(), plugin.getName());
+            ready.join();
+        }
+    }
+
     /**
      * Fork the repository
      *
@@ -526,6 +747,12 @@ public class GHService {
             LOG.info("Skipping sync {} {} in fetch-metadata-only mode", repoType.getType(), plugin);
             return;
         }
+        // A fork created during this run is already up to date. Only the push waits for it to be ready.
+        // Later syncs, like the metadata fork shared by all plugins, go through
+        if (newForks.remove(repoType.getRepositoryName(plugin))) {
+            LOG.debug("Fork of {} {} was just created. Not syncing it", repoType.getType(), plugin);
+            return;
+        }
         String repoTypeCapitalised = repoType.getType().substring(0, 1).toUpperCase()
                 + repoType.getType().substring(1);
         if (!isForked(plugin, repoType)) {
@@ -598,6 +825,8 @@ public class GHService {
         }
         try {
             repository.delete();
+            repositoryStates.computeIfPresent(
+                    plugin.getRepositoryName(), (name, state) -> state.withForked(false));
             plugin.withoutCommits();
             plugin.withoutChangesPushed();
         } catch (IOException e) {
@@ -661,35 +890,51 @@ public class GHService {
         Path localRepository = repoType.getLocalRepository(plugin);
         URIish remoteUri = getRemoteUri(repository);
 
+        // Checkout from the local mirror
+        if (config.isGitMirror()) {
+            try {
+                fetchRepositoryFromMirror(plugin, repoType, repository, remoteUri, localRepository);
+            } catch (GitAPIException e) {
+                if (!(e.getCause() instanceof org.apache.sshd.common.SshException)) {
+                    throw e;
+                }
+                LOG.warn("SSH authentication failed. Retrying with HTTPS...");
+                remoteUri = new URIish(repository.getHttpTransportUrl());
+                fetchRepositoryFromMirror(plugin, repoType, repository, remoteUri, localRepository);
+            }
+        }
+
         // Fetch latest changes
-        if (Files.isDirectory(localRepository)) {
+        else if (Files.isDirectory(localRepository)) {
             String defaultBranch = repository.getDefaultBranch();
-            // Ensure to set the correct remote, reset changes and pull
+            // Ensure to set the correct remote, fetch once and reset changes only if needed
             try (Git git = Git.open(localRepository.toFile())) {
                 git.remoteSetUrl()
                         .setRemoteName("origin")
                         .setRemoteUri(remoteUri)
                         .call();
-                git.fetch()
+                FetchCommand fetchCommand = git.fetch()
                         .setCredentialsProvider(getCredentialProvider())
-                        .setRemote("origin")
-                        .call();
-                LOG.debug("Resetting changes and pulling latest changes from {}", remoteUri);
-                git.reset()
-                        .setMode(ResetCommand.ResetType.HARD)
-                        .setRef("origin/" + defaultBranch)
-                        .call();
-                git.clean().setCleanDirectories(true).setDryRun(false).call();
-                Ref ref = git.checkout()
-                        .setCreateBranch(false)
-                        .setName(defaultBranch)
-                        .call();
-                git.pull()
-                        .setCredentialsProvider(getCredentialProvider())
-                        .setRemote("origin")
-                        .setRemoteBranchName(defaultBranch)
-                        .call();
-                LOG.info("Fetched {} repository from {} to branch {}", repoType.getType(), remoteUri, ref.getName());
+                        .setRemote("origin");
+                // Keep shallow repositories shallow
+                if (config.getCloneDepth() > 0) {
+                    fetchCommand = fetchCommand.setDepth(config.getCloneDepth());
+                }
+                fetchCommand.call();
+                boolean changed = syncCheckout(git, defaultBranch);
+                if (repoType == RepoType.PLUGIN) {
+                    if (changed) {
+                        plugin.withUpstreamChanges();
+                    } else {
+                        plugin.withoutUpstreamChanges();
+                    }
+                }
+                LOG.info(
+                        "Fetched {} repository from {} to branch {}{}",
+                        repoType.getType(),
+                        remoteUri,
+                        defaultBranch,
+                        changed ? "" : " (unchanged)");
             } catch (RefNotFoundException e) {
                 String message =
                         "Unable to find branch %s in repository. Probably the default branch was renamed. You can remove the local repository at %s and try again."
@@ -705,13 +950,13 @@ public class GHService {
         // Clone the repository
         else {
             try {
-                cloneRepository(plugin, remoteUri, localRepository.toFile());
+                cloneRepository(plugin, remoteUri, localRepository.toFile(), repository);
             } catch (GitAPIException e) {
                 if (e.getCause() instanceof org.apache.sshd.common.SshException) {
                     LOG.warn("SSH authentication failed. Retrying with HTTPS...");
                     remoteUri = new URIish(repository.getHttpTransportUrl());
                     try {
-                        cloneRepository(plugin, remoteUri, localRepository.toFile());
+                        cloneRepository(plugin, remoteUri, localRepository.toFile(), repository);
                     } catch (GitAPIException ex) {
                         LOG.error("HTTPS clone failed: {}", ex.getMessage());
                         plugin.addError("Failed to fetch the" + repoType.getType() + "repository using HTTPS", ex);
@@ -724,6 +969,149 @@ public class GHService {
         }
     }
 
+    /**
+     * Checkout the default branch of the repository from its local mirror. The local repository shares
+     * the objects of the mirror through git alternates, so only the working tree is written
+     *
+     * @param plugin The plugin to fetch
+     * @param repoType The repo type
+     * @param repository The remote repository
+     * @param remoteUri The remote URI of the repository
+     * @param localRepository The local repository
+     * @throws GitAPIException If the mirror update or the checkout failed
+     */
+    private void fetchRepositoryFromMirror(
+            Plugin plugin, RepoType repoType, GHRepository repository, URIish remoteUri, Path localRepository)
+            throws GitAPIException {
+        String defaultBranch = repository.getDefaultBranch();
+        Path mirror = updateMirror(repository, remoteUri);
+        try {
+            if (!Files.isDirectory(localRepository)) {
+                Git.init()
+                        .setDirectory(localRepository.toFile())
+                        .setInitialBranch(defaultBranch)
+                        .call()
+                        .close();
+            }
+            Path alternates = localRepository.resolve(".git/objects/info/alternates");
+            if (!Files.exists(alternates)) {
+                Files.createDirectories(alternates.getParent());
+                Files.writeString(alternates, mirror.resolve("objects").toAbsolutePath() + "\n");
+            }
+            try (Git git = Git.open(localRepository.toFile())) {
+                StoredConfig gitConfig = git.getRepository().getConfig();
+                gitConfig.setString("remote", "origin", "url", remoteUri.toString());
+                gitConfig.setString("remote", "origin", "fetch", "+refs/heads/*:refs/remotes/origin/*");
+                gitConfig.save();
+                git.fetch()
+                        .setRemote(mirror.toUri().toString())
+                        .setRefSpecs(new RefSpec("+refs/heads/*:refs/remotes/origin/*"))
+                        .setRemoveDeletedRefs(true)
+                        .call();
+                boolean changed = syncCheckout(git, defaultBranch);
+                if (repoType == RepoType.PLUGIN) {
+                    if (changed) {
+                        plugin.withUpstreamChanges();
+                    } else {
+                        plugin.withoutUpstreamChanges();
+                    }
+                }
+                LOG.info(
+                        "Checked out {} repository from mirror {}{}",
+                        repoType.getType(),
+                        mirror,
+                        changed ? "" : " (unchanged)");
+            }
+        } catch (IOException e) {
+            plugin.addError("Failed to checkout " + repoType.getType() + " repository from mirror", e);
+            plugin.raiseLastError();
+        }
+    }
+
+    /**
+     * Bring the checkout to the fetched tip of the default branch. The working tree is left untouched if it's
+     * already a clean checkout of that commit
+     *
+     * @param git The git repository
+     * @param defaultBranch The default branch
+     * @return True if the local default branch moved
+     * @throws GitAPIException If the checkout or reset failed
+     * @throws IOException If refs can't be read
+     */
+    private boolean syncCheckout(Git git, String defaultBranch) throws GitAPIException, IOException {
+        Repository repository = git.getRepository();
+        ObjectId target = repository.resolve(Constants.R_REMOTES + "origin/" + defaultBranch);
+        if (target == null) {
+            throw new RefNotFoundException("Ref origin/" + defaultBranch + " cannot be resolved");
+        }
+        Ref branch = repository.findRef(Constants.R_HEADS + defaultBranch);
+        boolean changed = branch == null || !target.equals(branch.getObjectId());
+        if (!changed
+                && defaultBranch.equals(repository.getBranch())
+                && git.status().call().isClean()) {
+            LOG.debug("Checkout of {} is up to date at {}", repository.getDirectory(), target.name());
+            return false;
+        }
+        LOG.debug("Resetting changes of {} to {}", repository.getDirectory(), target.name());
+        git.checkout()
+                .setForced(true)
+                .setCreateBranch(branch == null)
+                .setName(defaultBranch)
+                .setStartPoint("origin/" + defaultBranch)
+                .call();
+        git.reset()
+                .setMode(ResetCommand.ResetType.HARD)
+                .setRef("origin/" + defaultBranch)
+                .call();
+        git.clean().setCleanDirectories(true).setDryRun(false).call();
+        return changed;
+    }
+
+    /**
+     * Create or update the local bare mirror of a repository. A mirror is updated at most once per run
+     *
+     * @param repository The remote repository
+     * @param remoteUri The remote URI of the repository
+     * @return The path of the mirror
+     * @throws GitAPIException If the clone or fetch operation failed
+     */
+    private Path updateMirror(GHRepository repository, URIish remoteUri) throws GitAPIException {
+        Path mirror = config.getCachePath()
+                .resolve(Settings.MIRRORS_DIRECTORY)
+                .resolve(repository.getFullName() + ".git");
+        synchronized (mirrorLocks.computeIfAbsent(mirror, key -> new Object())) {
+            if (updatedMirrors.contains(mirror)) {
+                LOG.debug("Mirror {} already updated", mirror);
+                return mirror;
+            }
+            if (Files.isDirectory(mirror)) {
+                LOG.debug("Updating mirror {} from {}", mirror, remoteUri);
+                try (Git git = Git.open(mirror.toFile())) {
+                    git.fetch()
+                            .setCredentialsProvider(getCredentialProvider())
+                            .setRemote(remoteUri.toString())
+                            .setRefSpecs(new RefSpec("+refs/heads/*:refs/heads/*"))
+                            .setRemoveDeletedRefs(true)
+                            .call();
+                } catch (IOException e) {
+                    throw new ModernizerException("Failed to open mirror " + mirror, e);
+                }
+            } else {
+                LOG.debug("Creating mirror {} from {}", mirror, remoteUri);
+                Git.cloneRepository()
+                        .setCredentialsProvider(getCredentialProvider())
+                        .setURI(remoteUri.toString())
+                        .setDirectory(mirror.toFile())
+                        .setBare(true)
+                        .setCloneAllBranches(true)
+                        .call()
+                        .close();
+            }
+            updatedMirrors.add(mirror);
+            return mirror;
+        }
+    }
+
     /**
      * Return the remote URI patched with default SSH 22 port required by apache mina sshd transport
      * @param repository The repository to get the remote URI for
@@ -757,17 +1145,49 @@ public class GHService {
      * @param directory The directory to clone the repository to
      * @throws GitAPIException If the clone operation failed
      */
-    private void cloneRepository(Plugin plugin, URIish remoteUri, File directory) throws GitAPIException {
-        try (Git git = Git.cloneRepository()
+    private void cloneRepository(Plugin plugin, URIish remoteUri, File directory, GHRepository repository)
+            throws GitAPIException {
+        CloneCommand cloneCommand = Git.cloneRepository()
                 .setCredentialsProvider(getCredentialProvider())
                 .setRemote("origin")
                 .setURI(remoteUri.toString())
-                .setDirectory(directory)
-                .call()) {
+                .setDirectory(directory);
+        // Only fetch the tip of the default branch
+        if (config.getCloneDepth() > 0) {
+            String defaultBranch = repository.getDefaultBranch();
+            LOG.debug("Shallow clone of {} branch {} with depth {}", remoteUri, defaultBranch, config.getCloneDepth());
+            cloneCommand = cloneCommand
+                    .setDepth(config.getCloneDepth())
+                    .setCloneAllBranches(false)
+                    .setBranchesToClone(List.of(Constants.R_HEADS + defaultBranch))
+                    .setBranch(Constants.R_HEADS + defaultBranch);
+        }
+        try (Git git = cloneCommand.call()) {
             LOG.debug("Clone successfully from {}", remoteUri);
         }
     }
 
+    /**
+     * Fetch the full history of a shallow repository. Does nothing if the repository is not shallow
+     *
+     * @param git The git repository
+     * @return True if the repository was shallow and its history was fetched
+     * @throws GitAPIException If the fetch operation failed
+     * @throws IOException If the shallow commits can't be read
+     */
+    private boolean deepen(Git git) throws GitAPIException, IOException {
+        if (git.getRepository().getObjectDatabase().getShallowCommits().isEmpty()) {
+            return false;
+        }
+        LOG.debug("Fetching full history of shallow repository {}", git.getRepository().getDirectory());
+        git.fetch()
+                .setCredentialsProvider(getCredentialProvider())
+                .setRemote("origin")
+                .setUnshallow(true)
+                .call();
+        return true;
+    }
+
     /**
      * Checkout the branch. Creates the branch if not exists
      *
@@ -1008,19 +1428,21 @@ public class GHService {
             LOG.info("Plugin {} is archived. Not pushing changes for {}", plugin, repoType.getType());
             return;
         }
+        awaitFork(plugin, repoType);
         Path localRepository = repoType.getLocalRepository(plugin);
         try (Git git = Git.open(localRepository.toFile())) {
             String branchName = repoType.getBranchName(plugin, config.getRecipe());
-            List<PushResult> results = StreamSupport.stream(
-                            git.push()
-                                    .setForce(true)
-                                    .setRemote("origin")
-                                    .setCredentialsProvider(getCredentialProvider())
-                                    .setRefSpecs(new RefSpec(branchName + ":" + branchName))
-                                    .call()
-                                    .spliterator(),
-                            false)
-                    .toList();
+            List<PushResult> results;
+            try {
+                results = push(git, branchName);
+            } catch (TransportException e) {
+                // The remote may need commits beyond the boundary of a shallow clone
+                if (!deepen(git)) {
+                    throw e;
+                }
+                LOG.info("Failed to push shallow repository of {}. Retrying with full history", plugin.getName());
+                results = push(git, branchName);
+            }
             results.forEach(result -> {
                 LOG.debug("Push result: {}", result.getMessages());
                 if (result.getMessages().contains("error")) {
@@ -1039,6 +1461,27 @@ public class GHService {
         }
     }
 
+    /**
+     * Force push the branch to the origin remote
+     *
+     * @param git The git repository
+     * @param branchName The branch to push
+     * @return The push results
+     * @throws GitAPIException If the push operation failed
+     */
+    private List<PushResult> push(Git git, String branchName) throws GitAPIException {
+        return StreamSupport.stream(
+                        git.push()
+                                .setForce(true)
+                                .setRemote("origin")
+                                .setCredentialsProvider(getCredentialProvider())
+                                .setRefSpecs(new RefSpec(branchName + ":" + branchName))
+                                .call()
+                                .spliterator(),
+                        false)
+                .toList();
+    }
+
     /**
      * Open or update a pull request for the plugin and current recipe or its metadata
      *
@@ -1080,7 +1523,7 @@ public class GHService {
         String head = getGithubOwner() + ":" + branchName;
         String base = repository.getDefaultBranch();
 
-        Optional<GHPullRequest> existingPR = findExistingPullRequest(repository, head, base);
+        Optional<GHPullRequest> existingPR = findExistingPullRequest(plugin, repoType, repository, head, base);
 
         if (existingPR.isPresent()) {
             switch (config.getDuplicatePrStrategy()) {
@@ -1120,6 +1563,9 @@ public class GHService {
             LOG.info("Pull request created: {}", pr.getHtmlUrl());
             repoType.withPullRequest(plugin);
             if (repoType == RepoType.PLUGIN) {
+                repositoryStates.computeIfPresent(
+                        plugin.getRepositoryName(), (name, repositoryState) -> repositoryState.withPullRequest(head));
+                getPullRequestIndex().add(plugin.getRepositoryName(), head, pr.getNumber());
                 plugin.setPullRequestUrl(pr.getHtmlUrl().toString());
                 deleteLegacyPrs(plugin);
                 try {
@@ -1165,6 +1611,14 @@ public class GHService {
             LOG.info("Skipping check for pull requests in dry-run mode");
             return false;
         }
+        // Only the pull requests of the current user are indexed. Other authors can open pull requests from the fork
+        if (getPullRequestIndex().hasPullRequestFrom(plugin.getRepositoryName(), getGithubOwner())) {
+            return true;
+        }
+        RepositoryState state = repositoryStates.get(plugin.getRepositoryName());
+        if (state != null && state.completePullRequests()) {
+            return state.hasPullRequestFrom(getGithubOwner());
+        }
         GHRepository originalRepo = plugin.getRemoteRepository(this);
         GHRepository forkRepo = plugin.getRemoteForkRepository(this);
 
@@ -1186,14 +1640,37 @@ public class GHService {
     }
 
     /**
-     * Find existing pull request
+     * Find existing pull request. Plugin pull requests are looked up in the index of the campaign or in the
+     * state fetched in batch before querying the open pull requests of the repository with the head and base
      *
+     * @param plugin The plugin
+     * @param repoType The repo type
      * @param repo The repository
      * @param head The head branch
      * @param base The base branch
      * @return The pull request if it exists
      */
-    private Optional<GHPullRequest> findExistingPullRequest(GHRepository repo, String head, String base) {
+    private Optional<GHPullRequest> findExistingPullRequest(
+            Plugin plugin, RepoType repoType, GHRepository repo, String head, String base) {
+        if (repoType == RepoType.PLUGIN) {
+            // Only trust the index when it finds a pull request. The same head can be used by other authors
+            Integer number = getPullRequestIndex().find(plugin.getRepositoryName(), head);
+            if (number != null) {
+                try {
+                    GHPullRequest pr = repo.getPullRequest(number);
+                    if (pr.getState() == GHIssueState.OPEN && pr.getBase().getRef().equals(base)) {
+                        return Optional.of(pr);
+                    }
+                } catch (IOException e) {
+                    LOG.debug("Failed to get indexed pull request {}", number, e);
+                }
+            }
+            // No need to query pull requests if none was open with this head before the run
+            RepositoryState state = repositoryStates.get(plugin.getRepositoryName());
+            if (state != null && state.completePullRequests() && !state.hasPullRequest(head)) {
+                return Optional.empty();
+            }
+        }
         try {
             return repo.queryPullRequests().state(GHIssueState.OPEN).head(head).base(base).list().toList().stream()
                     .findFirst();
@@ -1230,6 +1707,30 @@ public class GHService {
         }
     }
 
+    /**
+     * Get a key identifying the checked out sources of the plugin. Sources without uncommitted changes
+     * are identified by their HEAD commit and the version of the tool that collects their metadata
+     * @param plugin The plugin
+     * @return The source key or null if the sources have uncommitted changes or are not a git repository
+     */
+    public String getSourceKey(Plugin plugin) {
+        Path localRepository = plugin.getLocalRepository();
+        try (Git git = Git.open(localRepository.toFile())) {
+            if (!git.status().call().isClean()) {
+                LOG.debug("Plugin {} has uncommitted changes. No source key", plugin.getName());
+                return null;
+            }
+            ObjectId head = git.getRepository().resolve("HEAD");
+            if (head == null) {
+                return null;
+            }
+            return head.name() + ":" + config.getVersion();
+        } catch (IOException | GitAPIException e) {
+            LOG.debug("Unable to compute source key of plugin {}: {}", plugin.getName(), e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Get the diff statistics after modernization
      * @param plugin The plugin after modernization
@@ -1250,16 +1751,8 @@ public class GHService {
                         .findGitDir()
                         .build();
                 Git git = new Git(repository);
-                ObjectReader reader = repository.newObjectReader();
-                DiffFormatter formatter = new DiffFormatter(new ByteArrayOutputStream())) {
-
-            formatter.setRepository(repository);
-            formatter.setDiffComparator(RawTextComparator.DEFAULT);
-            formatter.setDetectRenames(true);
+                ObjectReader reader = repository.newObjectReader()) {
 
-            int additions = 0;
-            int deletions = 0;
-            int changedFiles = 0;
             if (dryRun) {
                 // UNSTAGED: Working Directory vs Index
                 DirCacheIterator indexTree = new DirCacheIterator(repository.readDirCache());
@@ -1268,54 +1761,21 @@ public class GHService {
                 List<DiffEntry> unstagedDiffs = git.diff()
                         .setOldTree(indexTree)
                         .setNewTree(workingTree)
-                        .setShowNameAndStatusOnly(false)
+                        .setShowNameAndStatusOnly(true)
                         .call();
-
-                for (DiffEntry diff : unstagedDiffs) {
-                    try {
-                        EditList edits = formatter.toFileHeader(diff).toEditList();
-                        for (Edit edit : edits) {
-                            additions += edit.getEndB() - edit.getBeginB();
-                            deletions += edit.getEndA() - edit.getBeginA();
-                        }
-                        changedFiles++;
-                    } catch (MissingObjectException e) {
-                        LOG.warn("Skipping diff for {}: {}", diff.getNewPath(), e.getMessage());
-                    }
-                }
-                return new DiffStats(additions, deletions, changedFiles);
+                return new DiffStatsCounter(repository, true).count(unstagedDiffs);
             }
             // COMMITTED: HEAD vs default branch or previous commit
-            ObjectId head = repository.resolve("HEAD");
-            String defaultBranchName = plugin.getRemoteRepository(this).getDefaultBranch();
-            ObjectId defaultBranch = repository.resolve("refs/heads/" + defaultBranchName);
-
-            if (defaultBranch == null) {
-                throw new IOException("Could not resolve default branch.");
-            }
-
-            CanonicalTreeParser oldTree = new CanonicalTreeParser();
-            CanonicalTreeParser newTree = new CanonicalTreeParser();
-            try (RevWalk revWalk = new RevWalk(repository)) {
-                oldTree.reset(reader, revWalk.parseTree(defaultBranch));
-                newTree.reset(reader, revWalk.parseTree(head));
-            }
-
-            List<DiffEntry> committedDiffs = git.diff()
-                    .setOldTree(oldTree)
-                    .setNewTree(newTree)
-                    .setShowNameAndStatusOnly(false)
-                    .call();
-
-            for (DiffEntry diff : committedDiffs) {
-                EditList edits = formatter.toFileHeader(diff).toEditList();
-                for (Edit edit : edits) {
-                    additions += edit.getEndB() - edit.getBeginB();
-                    deletions += edit.getEndA() - edit.getBeginA();
+            try {
+                return getCommittedDiffStats(plugin, repository, git, reader);
+            } catch (MissingObjectException e) {
+                // Objects beyond the boundary of a shallow clone are needed
+                if (!deepen(git)) {
+                    throw e;
                 }
-                changedFiles++;
+                LOG.info("Fetched full history of {} to compute diff stats", plugin.getName());
+                return getCommittedDiffStats(plugin, repository, git, reader);
             }
-            return new DiffStats(additions, deletions, changedFiles);
 
         } catch (IOException | GitAPIException e) {
             plugin.addError("Failed to get diff stats", e);
@@ -1324,6 +1784,41 @@ public class GHService {
         return null;
     }
 
+    /**
+     * Get the diff statistics of HEAD compared to the default branch
+     * @param plugin The plugin after modernization
+     * @param repository The git repository
+     * @param git The git wrapper of the repository
+     * @param reader The object reader
+     * @return DiffStats (no. of additions, deletions and changed files)
+     * @throws IOException If objects can't be read
+     * @throws GitAPIException If the diff operation failed
+     */
+    private DiffStats getCommittedDiffStats(Plugin plugin, Repository repository, Git git, ObjectReader reader)
+            throws IOException, GitAPIException {
+        ObjectId head = repository.resolve("HEAD");
+        String defaultBranchName = plugin.getRemoteRepository(this).getDefaultBranch();
+        ObjectId defaultBranch = repository.resolve("refs/heads/" + defaultBranchName);
+
+        if (defaultBranch == null) {
+            throw new IOException("Could not resolve default branch.");
+        }
+
+        CanonicalTreeParser oldTree = new CanonicalTreeParser();
+        CanonicalTreeParser newTree = new CanonicalTreeParser();
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            oldTree.reset(reader, revWalk.parseTree(defaultBranch));
+            newTree.reset(reader, revWalk.parseTree(head));
+        }
+
+        List<DiffEntry> committedDiffs = git.diff()
+                .setOldTree(oldTree)
+                .setNewTree(newTree)
+                .setShowNameAndStatusOnly(true)
+                .call();
+        return new DiffStatsCounter(repository, false).count(committedDiffs);
+    }
+
     /**
      * Determine the GitHub owner from config or using current token
      *
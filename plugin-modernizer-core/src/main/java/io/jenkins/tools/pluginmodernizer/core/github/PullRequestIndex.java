@@ -0,0 +1,90 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the open pull requests of the campaign by repository name and head (owner:branch)
+ * built from a single search across the organization. Only pull requests of the current user are found,
+ * so only positive lookups can be trusted
+ */
+final class PullRequestIndex {
+
+    /**
+     * Index used when the search is not possible or failed. Lookups must fall back to the REST API
+     */
+    static final PullRequestIndex UNAVAILABLE = new PullRequestIndex(Map.of(), false);
+
+    /**
+     * Number of the pull requests by repository name and head
+     */
+    private final Map<String, Map<String, Integer>> pullRequests = new ConcurrentHashMap<>();
+
+    /**
+     * If all open pull requests are indexed
+     */
+    private final boolean complete;
+
+    /**
+     * Create a new index
+     * @param pullRequests Number of the pull requests by repository name and head
+     * @param complete True if all open pull requests are indexed
+     */
+    PullRequestIndex(Map<String, Map<String, Integer>> pullRequests, boolean complete) {
+        this.complete = complete;
+        pullRequests.forEach((repository, heads) -> heads.forEach((head, number) -> add(repository, head, number)));
+    }
+
+    /**
+     * Return if all open pull requests are indexed. Otherwise lookups must fall back to the REST API
+     * @return True if complete
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Add a pull request opened during the campaign
+     * @param repositoryName The repository name
+     * @param head The head (owner:branch) of the pull request
+     * @param number The number of the pull request
+     */
+    void add(String repositoryName, String head, int number) {
+        if (!complete) {
+            return;
+        }
+        pullRequests
+                .computeIfAbsent(repositoryName, name -> new ConcurrentHashMap<>())
+                .put(head, number);
+    }
+
+    /**
+     * Find the open pull request with the given head
+     * @param repositoryName The repository name
+     * @param head The head (owner:branch)
+     * @return The number of the pull request or null if none
+     */
+    Integer find(String repositoryName, String head) {
+        Map<String, Integer> heads = pullRequests.get(repositoryName);
+        return heads == null ? null : heads.get(head);
+    }
+
+    /**
+     * Return if an open pull request comes from a branch of the given owner
+     * @param repositoryName The repository name
+     * @param owner The owner of the head repository
+     * @return True if a pull request is open
+     */
+    boolean hasPullRequestFrom(String repositoryName, String owner) {
+        Map<String, Integer> heads = pullRequests.get(repositoryName);
+        return heads != null && heads.keySet().stream().anyMatch(head -> head.startsWith(owner + ":"));
+    }
+
+    /**
+     * Return the number of indexed pull requests
+     * @return The number of pull requests
+     */
+    int size() {
+        return pullRequests.values().stream().mapToInt(Map::size).sum();
+    }
+}
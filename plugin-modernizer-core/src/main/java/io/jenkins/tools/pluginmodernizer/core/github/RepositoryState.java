@@ -0,0 +1,57 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * State of a plugin repository and its fork fetched in batch before processing the plugins
+ * @param archived True if the upstream repository is archived
+ * @param forked True if the repository is forked to the GitHub owner
+ * @param openPullRequestHeads Heads (owner:branch) of the open pull requests of the upstream repository
+ * @param completePullRequests False if the repository has more open pull requests than fetched
+ */
+record RepositoryState(
+        boolean archived, boolean forked, Set<String> openPullRequestHeads, boolean completePullRequests) {
+
+    RepositoryState {
+        openPullRequestHeads = Set.copyOf(openPullRequestHeads);
+    }
+
+    /**
+     * Return a copy of this state with the given fork state
+     * @param forked True if the repository is forked
+     * @return The new state
+     */
+    RepositoryState withForked(boolean forked) {
+        return new RepositoryState(archived, forked, openPullRequestHeads, completePullRequests);
+    }
+
+    /**
+     * Return a copy of this state with a new open pull request
+     * @param head The head (owner:branch) of the pull request
+     * @return The new state
+     */
+    RepositoryState withPullRequest(String head) {
+        Set<String> heads = new HashSet<>(openPullRequestHeads);
+        heads.add(head);
+        return new RepositoryState(archived, forked, heads, completePullRequests);
+    }
+
+    /**
+     * Return if an open pull request has the given head
+     * @param head The head (owner:branch)
+     * @return True if a pull request is known. False if no pull request or if they were not all fetched
+     */
+    boolean hasPullRequest(String head) {
+        return openPullRequestHeads.contains(head);
+    }
+
+    /**
+     * Return if an open pull request comes from a branch of the given owner
+     * @param owner The owner of the head repository
+     * @return True if a pull request is known. False if no pull request or if they were not all fetched
+     */
+    boolean hasPullRequestFrom(String owner) {
+        return openPullRequestHeads.stream().anyMatch(head -> head.startsWith(owner + ":"));
+    }
+}
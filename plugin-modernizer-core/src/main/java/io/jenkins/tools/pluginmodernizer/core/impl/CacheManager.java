@@ -1,15 +1,26 @@
 package io.jenkins.tools.pluginmodernizer.core.impl;
 
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jenkins.tools.pluginmodernizer.core.model.BinaryCacheEntry;
+import io.jenkins.tools.pluginmodernizer.core.model.BinaryCacheReader;
+import io.jenkins.tools.pluginmodernizer.core.model.BinaryCacheWriter;
 import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileTime;
 import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,20 +33,38 @@ public class CacheManager {
     public static final String HEALTH_SCORE_KEY = "health-score.json";
     public static final String INSTALLATION_STATS_KEY = "plugin-installation-stats.json";
     public static final String PLUGIN_METADATA_CACHE_KEY = "plugin-metadata.json";
+    public static final String MODERNIZED_PLUGIN_METADATA_CACHE_KEY = "modernized-plugin-metadata.json";
     public static final String MODERNIZATION_METADATA_CACHE_KEY = "modernization-metadata.json";
     public static final String OPT_OUT_PLUGINS_CACHE_KEY = "opt-out-plugins.json";
+    public static final String CHECKPOINT_CACHE_KEY = "checkpoint.json";
+    public static final String REWRITE_RESULT_CACHE_KEY = "rewrite-result.json";
     private static final Logger LOG = LoggerFactory.getLogger(CacheManager.class);
 
+    /**
+     * Extension of entries stored in the binary format
+     */
+    private static final String BINARY_EXTENSION = ".bin";
+
     private final Path location;
     private final Clock clock;
     private final boolean expires;
+    private final boolean binary;
 
     /**
      * Creates a new cache manager
      * @param cache The location of the cache
      */
     public CacheManager(Path cache) {
-        this(cache, Clock.systemDefaultZone(), true);
+        this(cache, false);
+    }
+
+    /**
+     * Creates a new cache manager
+     * @param cache The location of the cache
+     * @param binary Whether entries supporting it are also stored in the compact binary format
+     */
+    public CacheManager(Path cache, boolean binary) {
+        this(cache, Clock.systemDefaultZone(), true, binary);
     }
 
     /**
@@ -45,9 +74,21 @@ public class CacheManager {
      * @param expires Whether the cache expires
      */
     CacheManager(Path cache, Clock clock, boolean expires) {
+        this(cache, clock, expires, false);
+    }
+
+    /**
+     * Creates a new cache manager with a custom clock, expiration and format
+     * @param cache The location of the cache
+     * @param clock The clock to use
+     * @param expires Whether the cache expires
+     * @param binary Whether entries supporting it are also stored in the compact binary format
+     */
+    CacheManager(Path cache, Clock clock, boolean expires, boolean binary) {
         this.location = cache;
         this.clock = clock;
         this.expires = expires;
+        this.binary = binary;
     }
 
     /**
@@ -92,7 +133,11 @@ public class CacheManager {
             throw new ModernizerException("Cache entry path is null");
         }
         Path fileToCache = location.resolve(entry.getPath()).resolve(entry.getKey());
+        // JSON is always written so the entry can be exported or read without the binary format
         JsonUtils.toJsonFile(entry, fileToCache);
+        if (binary && entry instanceof BinaryCacheEntry binaryEntry) {
+            writeBinary(entry, binaryEntry, getBinaryPath(fileToCache));
+        }
     }
 
     /**
@@ -106,23 +151,48 @@ public class CacheManager {
      * @return the cached json object as a string or null
      */
     public <T extends CacheEntry<T>> T get(Path path, String cacheKey, Class<T> clazz) {
-        Path cachedPath = location.resolve(path).resolve(cacheKey);
+        return get(path, cacheKey, clazz, null);
+    }
+
+    /**
+     * Retrieves a json object from the cache that is still valid for the given validity key.
+     * <p>
+     * An entry stamped with the same validity key is returned whatever its age. An entry stamped
+     * with another validity key is stale and null is returned. Entries without validity key
+     * fall back to the 1 hour expiration
+     *
+     * @param path        subdirectory of the object
+     * @param cacheKey    key to lookup, i.e. update-center
+     * @param validityKey the current validity key of the source of the object or null if unknown
+     * @return the cached json object as a string or null
+     */
+    public <T extends CacheEntry<T>> T get(Path path, String cacheKey, Class<T> clazz, @Nullable String validityKey) {
+        Path cachedPath = resolve(path, cacheKey);
         try {
             FileTime lastModifiedTime = Files.getLastModifiedTime(cachedPath);
-            Duration between = Duration.between(lastModifiedTime.toInstant(), clock.instant());
-            long betweenHours = between.toHours();
-
-            if (betweenHours > 0L) {
-                LOG.debug(
-                        "Cache entry expired: {}{}",
-                        cacheKey,
-                        expires ? ". Will skip it" : ". Will accept it, because expiration is disabled");
-                if (expires) {
+            // Without validity key to compare, the age alone decides. Don't parse an expired entry
+            if (validityKey == null && isOutdated(cacheKey, lastModifiedTime)) {
+                return null;
+            }
+            T entry = read(cachedPath, path, cacheKey, clazz);
+            if (entry == null) {
+                return null;
+            }
+            String storedValidityKey = entry.getValidityKey();
+            if (validityKey != null && storedValidityKey != null) {
+                if (!validityKey.equals(storedValidityKey)) {
+                    LOG.debug(
+                            "Cache entry {} is stale. Validity key {} doesn't match {}. Will skip it",
+                            cacheKey,
+                            storedValidityKey,
+                            validityKey);
                     return null;
                 }
+                LOG.debug("Cache entry {} is valid for key {}", cacheKey, validityKey);
+            } else if (validityKey != null && isOutdated(cacheKey, lastModifiedTime)) {
+                return null;
             }
             LOG.debug("Cache entry found for cache {} at path {} and key {}", location, path, cacheKey);
-            T entry = JsonUtils.fromJson(cachedPath, clazz);
             entry.setCacheManager(this);
             return entry;
         } catch (NoSuchFileException e) {
@@ -133,6 +203,210 @@ public class CacheManager {
         }
     }
 
+    /**
+     * Return if an entry without validity key is too old to be used
+     * @param cacheKey The key of the entry
+     * @param lastModifiedTime The last modification time of the entry
+     * @return True if the entry expired and expiration is enabled
+     */
+    private boolean isOutdated(String cacheKey, FileTime lastModifiedTime) {
+        Duration between = Duration.between(lastModifiedTime.toInstant(), clock.instant());
+        if (between.toHours() <= 0L) {
+            return false;
+        }
+        LOG.debug(
+                "Cache entry expired: {}{}",
+                cacheKey,
+                expires ? ". Will skip it" : ". Will accept it, because expiration is disabled");
+        return expires;
+    }
+
+    /**
+     * Retrieves an object from the cache whatever its age, for example to revalidate an expired entry
+     * against its remote resource
+     *
+     * @param path     subdirectory of the object
+     * @param cacheKey key to lookup, i.e. update-center
+     * @return the cached object or null if not found
+     */
+    public <T extends CacheEntry<T>> T getStale(Path path, String cacheKey, Class<T> clazz) {
+        Path cachedPath = resolve(path, cacheKey);
+        if (!Files.isRegularFile(cachedPath)) {
+            return null;
+        }
+        try {
+            T entry = read(cachedPath, path, cacheKey, clazz);
+            if (entry != null) {
+                entry.setCacheManager(this);
+            }
+            return entry;
+        } catch (IOException e) {
+            throw new ModernizerException("Failed to read cache entry for key: " + cacheKey, e);
+        }
+    }
+
+    /**
+     * Mark a cache entry as fresh without rewriting it, for example when its remote resource is not modified
+     * @param entry The entry
+     */
+    public void touch(CacheEntry<?> entry) {
+        Path file = resolve(entry.getPath(), entry.getKey());
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(clock.instant()));
+            LOG.debug("Cache entry touched for key: {} at location {}", entry.getKey(), location);
+        } catch (IOException e) {
+            throw new ModernizerException("Failed to touch cache entry for key: " + entry.getKey(), e);
+        }
+    }
+
+    /**
+     * Return when a cache entry expires, as checked by {@link #get(Path, String, Class)}
+     * @param path     subdirectory of the object
+     * @param cacheKey key to lookup, i.e. update-center
+     * @return the expiration, {@link Instant#MAX} if the cache doesn't expire or null if the entry doesn't exist
+     */
+    public Instant getExpiration(Path path, String cacheKey) {
+        try {
+            FileTime lastModifiedTime = Files.getLastModifiedTime(resolve(path, cacheKey));
+            return expires ? lastModifiedTime.toInstant().plus(Duration.ofHours(1)) : Instant.MAX;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Return if the given expiration is reached according to the clock of the cache
+     * @param expiration The expiration
+     * @return True if expired
+     */
+    public boolean isExpired(Instant expiration) {
+        return !clock.instant().isBefore(expiration);
+    }
+
+    /**
+     * Resolve the file of a cache entry. The binary file is preferred when the binary format is enabled,
+     * unless the JSON file is newer, for example when written by a run without the binary format
+     * @param path     subdirectory of the object
+     * @param cacheKey key to lookup, i.e. update-center
+     * @return the file of the entry
+     */
+    private Path resolve(Path path, String cacheKey) {
+        Path file = location.resolve(path).resolve(cacheKey);
+        if (binary) {
+            Path binaryFile = getBinaryPath(file);
+            if (Files.isRegularFile(binaryFile) && !isNewer(file, binaryFile)) {
+                return binaryFile;
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Return if a file was modified after another one
+     * @param file The file
+     * @param other The other file
+     * @return True if the file exists and was modified after the other one
+     */
+    private static boolean isNewer(Path file, Path other) {
+        try {
+            return Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(other)) > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Read a cache entry from its JSON or binary file
+     * @param file     the file of the entry
+     * @param path     subdirectory of the object
+     * @param cacheKey key of the object
+     * @param clazz    the class of the object
+     * @return the object or null if the file is malformed
+     * @throws IOException If the file can't be read
+     */
+    private <T extends CacheEntry<T>> T read(Path file, Path path, String cacheKey, Class<T> clazz)
+            throws IOException {
+        return file.getFileName().toString().endsWith(BINARY_EXTENSION)
+                ? readBinary(file, path, cacheKey, clazz)
+                : JsonUtils.fromJson(file, clazz);
+    }
+
+    /**
+     * Get the path of the binary file of a cache entry
+     * @param file The JSON file of the entry
+     * @return The binary file
+     */
+    private static Path getBinaryPath(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".json")) {
+            name = name.substring(0, name.length() - ".json".length());
+        }
+        return file.resolveSibling(name + BINARY_EXTENSION);
+    }
+
+    /**
+     * Write an entry in the binary format. The file is replaced atomically
+     * @param entry The entry
+     * @param binaryEntry The data of the entry
+     * @param file The binary file
+     */
+    private void writeBinary(CacheEntry<?> entry, BinaryCacheEntry binaryEntry, Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (BinaryCacheWriter writer =
+                    new BinaryCacheWriter(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                writer.writeString(entry.getValidityKey());
+                writer.writeString(entry.getEtag());
+                writer.writeString(entry.getLastModified());
+                binaryEntry.writeBinary(writer);
+            } catch (IOException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.debug("Writing binary cache entry to {}", file);
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to write binary cache entry due to IO error", e);
+        }
+    }
+
+    /**
+     * Read an entry in the binary format from a memory-mapped file
+     * @param file The binary file
+     * @param path subdirectory of the object
+     * @param cacheKey key of the object
+     * @param clazz The class of the entry
+     * @return The entry or null if the file is malformed
+     * @throws IOException If the file can't be read
+     */
+    private <T extends CacheEntry<T>> T readBinary(Path file, Path path, String cacheKey, Class<T> clazz)
+            throws IOException {
+        if (!BinaryCacheEntry.class.isAssignableFrom(clazz)) {
+            throw new ModernizerException("Cache entry " + clazz.getName() + " doesn't support the binary format");
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            T entry = clazz.getConstructor(CacheManager.class).newInstance(this);
+            BinaryCacheReader reader = new BinaryCacheReader(buffer);
+            entry.setKey(cacheKey);
+            entry.setPath(path);
+            entry.setValidityKey(reader.readString());
+            entry.setEtag(reader.readString());
+            entry.setLastModified(reader.readString());
+            ((BinaryCacheEntry) entry).readBinary(reader);
+            return entry;
+        } catch (ReflectiveOperationException e) {
+            throw new ModernizerException("Unable to create cache entry " + clazz.getName(), e);
+        } catch (IllegalStateException | BufferUnderflowException e) {
+            LOG.debug("Malformed binary cache entry {}. Will skip it", file, e);
+            return null;
+        }
+    }
+
     /**
      * Removes a cache entry
      * @param cacheKey The key to remove
@@ -140,8 +414,7 @@ public class CacheManager {
     public void remove(Path path, String cacheKey) {
         Path fileToRemove = location.resolve(path).resolve(cacheKey);
         try {
-            if (Files.exists(fileToRemove)) {
-                Files.delete(fileToRemove);
+            if (Files.deleteIfExists(fileToRemove) | Files.deleteIfExists(getBinaryPath(fileToRemove))) {
                 LOG.debug("Cache entry removed for key: {} at location {}", cacheKey, location);
             }
         } catch (IOException e) {
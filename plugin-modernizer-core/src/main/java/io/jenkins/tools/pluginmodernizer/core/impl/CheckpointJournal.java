@@ -0,0 +1,133 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginCheckpoint;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journal of the last completed stage of each plugin, stored under the cache path.
+ * Checkpoints never expire so an interrupted run can be resumed later.
+ */
+public class CheckpointJournal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CheckpointJournal.class);
+
+    /**
+     * Cache manager without expiration
+     */
+    private final CacheManager cacheManager;
+
+    /**
+     * Checkpoints of plugins being processed
+     */
+    private final Map<String, PluginCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new journal
+     * @param cachePath The cache path
+     */
+    public CheckpointJournal(Path cachePath) {
+        this(new CacheManager(cachePath, Clock.systemDefaultZone(), false));
+    }
+
+    /**
+     * Create a new journal
+     * @param cacheManager The cache manager storing checkpoints
+     */
+    CheckpointJournal(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Open the checkpoint of a plugin. The previous checkpoint is only kept when resuming the same recipe
+     * @param plugin The plugin
+     * @param recipe The recipe name
+     * @param resume True to keep the previous progress
+     */
+    public void open(Plugin plugin, String recipe, boolean resume) {
+        PluginCheckpoint checkpoint = null;
+        if (resume) {
+            checkpoint = cacheManager.get(
+                    Path.of(plugin.getName()), CacheManager.CHECKPOINT_CACHE_KEY, PluginCheckpoint.class);
+            if (checkpoint != null && !recipe.equals(checkpoint.getRecipe())) {
+                LOG.info(
+                        "Ignoring checkpoint of plugin {} recorded for recipe {}",
+                        plugin.getName(),
+                        checkpoint.getRecipe());
+                checkpoint = null;
+            }
+        }
+        if (checkpoint == null) {
+            checkpoint = new PluginCheckpoint(cacheManager, plugin, recipe);
+            checkpoint.save();
+        } else {
+            LOG.info("Resuming plugin {} after stage {}", plugin.getName(), checkpoint.getStage());
+        }
+        checkpoints.put(plugin.getName(), checkpoint);
+    }
+
+    /**
+     * Return if a stage was already completed for the plugin
+     * @param plugin The plugin
+     * @param stage The stage
+     * @return True if the stage or a later one was completed
+     */
+    public boolean isReached(Plugin plugin, PluginCheckpoint.Stage stage) {
+        PluginCheckpoint checkpoint = checkpoints.get(plugin.getName());
+        return checkpoint != null && checkpoint.isReached(stage);
+    }
+
+    /**
+     * Record a completed stage for the plugin
+     * @param plugin The plugin
+     * @param stage The completed stage
+     */
+    public void record(Plugin plugin, PluginCheckpoint.Stage stage) {
+        PluginCheckpoint checkpoint = checkpoints.get(plugin.getName());
+        if (checkpoint == null || checkpoint.isReached(stage)) {
+            return;
+        }
+        checkpoint.setStage(stage);
+        checkpoint.setModifiedFiles(plugin.getModifiedFiles());
+        checkpoint.save();
+        LOG.debug("Recorded stage {} for plugin {}", stage, plugin.getName());
+    }
+
+    /**
+     * Forget the progress of the plugin, for example when its local repository is gone
+     * @param plugin The plugin
+     */
+    public void reset(Plugin plugin) {
+        PluginCheckpoint checkpoint = checkpoints.get(plugin.getName());
+        if (checkpoint != null && checkpoint.getStage() != null) {
+            LOG.info("Discarding checkpoint of plugin {}", plugin.getName());
+            checkpoint.setStage(null);
+            checkpoint.setModifiedFiles(Set.of());
+            checkpoint.save();
+        }
+    }
+
+    /**
+     * Get the files modified by the recipe as recorded in the checkpoint
+     * @param plugin The plugin
+     * @return The modified files
+     */
+    public Set<String> getModifiedFiles(Plugin plugin) {
+        PluginCheckpoint checkpoint = checkpoints.get(plugin.getName());
+        return checkpoint == null ? Set.of() : checkpoint.getModifiedFiles();
+    }
+
+    /**
+     * Get the cache manager of the journal. Entries read from it never expire
+     * @return The cache manager
+     */
+    public CacheManager getCacheManager() {
+        return cacheManager;
+    }
+}
@@ -17,8 +17,15 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.apache.maven.shared.invoker.DefaultInvocationRequest;
 import org.apache.maven.shared.invoker.InvocationRequest;
@@ -50,6 +57,27 @@ public class MavenInvoker {
     @Inject
     private Invoker invoker;
 
+    /**
+     * The engine running recipes in process
+     */
+    @Inject
+    private RewriteEngine rewriteEngine;
+
+    /**
+     * The Maven daemon executable, resolved on first use
+     */
+    private volatile Path mavenDaemonExecutable;
+
+    /**
+     * Set once the Maven daemon is found unavailable. Goals then run on a forked Maven
+     */
+    private volatile boolean mavenDaemonDisabled;
+
+    /**
+     * Goals waiting to run for plugins being batched
+     */
+    private final Map<String, GoalBatch> batches = new ConcurrentHashMap<>();
+
     /**
      * Get the maven version
      * @return The maven version
@@ -89,6 +117,44 @@ public class MavenInvoker {
         invokeGoals(plugin, goals);
     }
 
+    /**
+     * Run consecutive goals of a plugin as a single Maven invocation.
+     * Goals invoked by the action are queued and run together once the action completes. Queued goals run earlier
+     * when the JDK or the options of the next goals differ, or when the build output must be read.
+     * @param plugin The plugin to run the goals on
+     * @param action The action invoking the goals
+     */
+    public void batch(Plugin plugin, Runnable action) {
+        if (batches.putIfAbsent(plugin.getName(), new GoalBatch()) != null) {
+            // Join the enclosing batch
+            action.run();
+            return;
+        }
+        boolean completed = false;
+        try {
+            action.run();
+            completed = true;
+        } finally {
+            GoalBatch batch = batches.remove(plugin.getName());
+            if (completed) {
+                runBatch(plugin, batch);
+            } else if (!batch.isEmpty()) {
+                LOG.debug("Discarding queued goals {} for plugin {}", batch.args(), plugin.getName());
+            }
+        }
+    }
+
+    /**
+     * Run the goals queued for the plugin, if any. Must be called before reading the build output
+     * @param plugin The plugin
+     */
+    public void flush(Plugin plugin) {
+        GoalBatch batch = batches.get(plugin.getName());
+        if (batch != null) {
+            runBatch(plugin, batch);
+        }
+    }
+
     /**
      * Invoke the rewrite modernization for a given plugin
      * @param plugin The plugin to run the rewrite on
@@ -96,6 +162,8 @@ public class MavenInvoker {
     public void collectMetadata(Plugin plugin) {
         LOG.info("Collecting metadata for plugin {}... Please be patient", plugin);
         invokeGoals(plugin, getSingleRecipeArgs(Settings.FETCH_METADATA_RECIPE));
+        // Metadata is read from the target directory right after
+        flush(plugin);
         LOG.info("Done");
     }
 
@@ -109,10 +177,36 @@ public class MavenInvoker {
                 "Running recipes {} for plugin {}... Please be patient",
                 config.getRecipe().getName(),
                 plugin);
+        if (config.isRewriteInProcess() && invokeRewriteInProcess(plugin)) {
+            LOG.info("Done");
+            return;
+        }
         invokeGoals(plugin, getSingleRecipeArgs(config.getRecipe()));
         LOG.info("Done");
     }
 
+    /**
+     * Run the recipe in process.
+     * @param plugin The plugin to run the rewrite on
+     * @return True if the recipe ran, false to fall back to the rewrite-maven-plugin
+     */
+    private boolean invokeRewriteInProcess(Plugin plugin) {
+        flush(plugin);
+        validatePom(plugin);
+        try {
+            List<Path> changed = rewriteEngine.run(plugin, config.getRecipe());
+            LOG.debug("In process rewrite changed {} for plugin {}", changed, plugin.getName());
+            return true;
+        } catch (RuntimeException e) {
+            LOG.warn(
+                    "Unable to run recipe in process for plugin {}. Falling back to rewrite-maven-plugin: {}",
+                    plugin.getName(),
+                    e.getMessage());
+            LOG.debug("In process rewrite failure", e);
+            return false;
+        }
+    }
+
     /**
      * Get the rewrite arguments to be executed for metadata collection
      * @return The list of arguments to be passed to the rewrite plugin
@@ -124,7 +218,8 @@ public class MavenInvoker {
         goals.add("-Dhpi.validate.skip=true");
         goals.add("-Dmaven.antrun.skip=true");
         goals.add("-Dmaven.repo.local=%s".formatted(config.getMavenLocalRepo()));
-        goals.add("-Drewrite.activeRecipes=" + recipe.getName());
+        goals.add("-Drewrite.activeRecipes="
+                + recipe.getRecipes().stream().map(Recipe::getName).collect(Collectors.joining(",")));
         goals.add("-Drewrite.recipeArtifactCoordinates=io.jenkins.plugin-modernizer:plugin-modernizer-core:"
                 + config.getVersion());
         return goals.toArray(String[]::new);
@@ -136,37 +231,130 @@ public class MavenInvoker {
      * @param goals The list of goals to run
      */
     private void invokeGoals(Plugin plugin, String... goals) {
+        GoalBatch batch = batches.get(plugin.getName());
+        if (batch != null) {
+            if (!batch.accepts(plugin.getJDK(), goals)) {
+                runBatch(plugin, batch);
+            }
+            batch.add(plugin.getJDK(), goals);
+            LOG.debug("Queued {} for plugin {}", goals, plugin.getName());
+            return;
+        }
+        executeGoals(plugin, plugin.getJDK(), goals);
+    }
+
+    /**
+     * Run the goals of a batch in a single invocation and clear it
+     * @param plugin The plugin to run the goals on
+     * @param batch The batch
+     */
+    private void runBatch(Plugin plugin, GoalBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        String[] args = batch.args();
+        JDK jdk = batch.getJdk();
+        batch.clear();
+        LOG.debug("Running batched {} for plugin {}", args, plugin.getName());
+        executeGoals(plugin, jdk, args);
+    }
+
+    /**
+     * Invoke a list of maven goal on the plugin with the given JDK
+     * @param plugin The plugin to run the goals on
+     * @param jdk The JDK to use or null for the default one
+     * @param goals The list of goals to run
+     */
+    private void executeGoals(Plugin plugin, @Nullable JDK jdk, String... goals) {
         validatePom(plugin);
         try {
-            InvocationRequest request = createInvocationRequest(plugin, goals);
-            JDK jdk = plugin.getJDK();
-            if (jdk != null) {
-                Path jdkPath = jdk.getHome(jdkFetcher);
-                request.setJavaHome(jdkPath.toFile());
-                LOG.debug("JDK home: {}", jdkPath);
-
-                // In order to rewrite on outdated plugins set add-opens
-                if (jdk.getMajor() >= 17) {
-                    LOG.debug("Adding --add-opens for JDK 17+");
-                    request.setMavenOpts(
-                            "--add-opens java.base/java.lang=ALL-UNNAMED --add-opens java.base/java.io=ALL-UNNAMED --add-opens java.base/java.util=ALL-UNNAMED");
+            Path mavenDaemon = config.isMavenDaemon() ? getMavenDaemonExecutable() : null;
+            if (mavenDaemon != null) {
+                InvocationResult result = invokeOnMavenDaemon(plugin, jdk, mavenDaemon, goals);
+                if (result != null) {
+                    handleInvocationResult(plugin, result);
+                    return;
                 }
             }
-            request.setBatchMode(true);
-            request.setNoTransferProgress(false);
-            request.setErrorHandler((message) -> {
-                LOG.error(plugin.getMarker(), String.format("Something went wrong when running maven: %s", message));
-            });
-            request.setOutputHandler((message) -> {
-                LOG.info(plugin.getMarker(), message);
-            });
-            InvocationResult result = invoker.execute(request);
+            InvocationResult result = invoker.execute(createGoalsRequest(plugin, jdk, null, goals));
             handleInvocationResult(plugin, result);
         } catch (MavenInvocationException | InterruptedException | IOException e) {
             plugin.addError("Maven invocation failed", e);
         }
     }
 
+    /**
+     * Invoke a list of maven goal on the Maven daemon
+     * @param plugin The plugin to run the goals on
+     * @param jdk The JDK to use or null for the default one
+     * @param mavenDaemon The Maven daemon executable
+     * @param goals The list of goals to run
+     * @return The invocation result or null if the daemon could not be started. The daemon is then disabled
+     */
+    private @Nullable InvocationResult invokeOnMavenDaemon(
+            Plugin plugin, @Nullable JDK jdk, Path mavenDaemon, String... goals)
+            throws IOException, InterruptedException {
+        try {
+            InvocationResult result = invoker.execute(createGoalsRequest(plugin, jdk, mavenDaemon, goals));
+            if (result.getExecutionException() == null) {
+                return result;
+            }
+            LOG.warn(
+                    "Unable to run Maven daemon {}. Falling back to forked Maven",
+                    mavenDaemon,
+                    result.getExecutionException());
+        } catch (MavenInvocationException e) {
+            LOG.warn("Unable to run Maven daemon {}. Falling back to forked Maven", mavenDaemon, e);
+        }
+        mavenDaemonDisabled = true;
+        return null;
+    }
+
+    /**
+     * Create the invocation request to run goals on the plugin with its JDK
+     * @param plugin The plugin to run the goals on
+     * @param jdk The JDK to use or null for the default one
+     * @param mavenDaemon The Maven daemon executable or null to fork Maven
+     * @param goals The list of goals to run
+     * @return The invocation request
+     */
+    private InvocationRequest createGoalsRequest(
+            Plugin plugin, @Nullable JDK jdk, @Nullable Path mavenDaemon, String... goals)
+            throws IOException, InterruptedException {
+        InvocationRequest request = createInvocationRequest(plugin, goals);
+        String jvmArgs = null;
+        if (jdk != null) {
+            Path jdkPath = jdk.getHome(jdkFetcher);
+            request.setJavaHome(jdkPath.toFile());
+            LOG.debug("JDK home: {}", jdkPath);
+
+            // In order to rewrite on outdated plugins set add-opens
+            if (jdk.getMajor() >= 17) {
+                LOG.debug("Adding --add-opens for JDK 17+");
+                jvmArgs =
+                        "--add-opens java.base/java.lang=ALL-UNNAMED --add-opens java.base/java.io=ALL-UNNAMED --add-opens java.base/java.util=ALL-UNNAMED";
+            }
+        }
+        if (mavenDaemon != null) {
+            // Daemons are reused per JDK home and JVM arguments. They ignore MAVEN_OPTS
+            request.setMavenExecutable(mavenDaemon.toFile());
+            if (jvmArgs != null) {
+                request.addArg("-Dmvnd.jvmArgs=" + jvmArgs);
+            }
+        } else if (jvmArgs != null) {
+            request.setMavenOpts(jvmArgs);
+        }
+        request.setBatchMode(true);
+        request.setNoTransferProgress(false);
+        request.setErrorHandler((message) -> {
+            LOG.error(plugin.getMarker(), String.format("Something went wrong when running maven: %s", message));
+        });
+        request.setOutputHandler((message) -> {
+            LOG.info(plugin.getMarker(), message);
+        });
+        return request;
+    }
+
     /**
      * Validate a pom exist for the given plugin
      * @param plugin The plugin to validate
@@ -206,9 +394,19 @@ public class MavenInvoker {
         }
     }
 
-    @SuppressWarnings("OS_COMMAND_INJECTION")
     @Nullable
     private Path detectMavenHome() {
+        return detectHome("mvn");
+    }
+
+    /**
+     * Detect the home directory of an executable found in PATH
+     * @param executable The executable name. For example, "mvn"
+     * @return The home directory or null if not found
+     */
+    @SuppressWarnings("OS_COMMAND_INJECTION")
+    @Nullable
+    private Path detectHome(String executable) {
         String os = System.getProperty("os.name");
         if (os == null) {
             os = "";
@@ -216,9 +414,9 @@ public class MavenInvoker {
 
         ProcessBuilder processBuilder;
         if (os.toLowerCase().contains("win")) {
-            processBuilder = new ProcessBuilder("where", "mvn");
+            processBuilder = new ProcessBuilder("where", executable);
         } else {
-            processBuilder = new ProcessBuilder("which", "mvn");
+            processBuilder = new ProcessBuilder("which", executable);
         }
         processBuilder.redirectErrorStream(true);
 
@@ -246,30 +444,30 @@ public class MavenInvoker {
 
             int exitCode = process.waitFor();
             if (exitCode != 0 || mvnPath == null || mvnPath.isBlank()) {
-                LOG.debug("Maven not found in PATH (exitCode=" + exitCode + ", output=" + sanitize(output.toString())
-                        + ")");
+                LOG.debug(executable + " not found in PATH (exitCode=" + exitCode + ", output="
+                        + sanitize(output.toString()) + ")");
                 return null;
             }
 
             Path mvn = Path.of(mvnPath).toRealPath();
             Path binDir = mvn.getParent();
             if (binDir == null) {
-                LOG.debug("Failed to detect Maven home from mvn path (no parent): " + sanitize(mvnPath));
+                LOG.debug("Failed to detect home from " + executable + " path (no parent): " + sanitize(mvnPath));
                 return null;
             }
 
             Path mavenHome = binDir.getParent();
             if (mavenHome == null) {
-                LOG.debug("Failed to detect Maven home from mvn path (no grandparent): " + sanitize(mvnPath));
+                LOG.debug("Failed to detect home from " + executable + " path (no grandparent): " + sanitize(mvnPath));
                 return null;
             }
             return mavenHome;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            LOG.debug("Interrupted while detecting Maven from PATH", e);
+            LOG.debug("Interrupted while detecting " + executable + " from PATH", e);
             return null;
         } catch (Exception e) {
-            LOG.debug("Failed to detect Maven from PATH", e);
+            LOG.debug("Failed to detect " + executable + " from PATH", e);
             return null;
         } finally {
             if (process != null) {
@@ -291,6 +489,52 @@ public class MavenInvoker {
                 || mvnBat.toFile().exists();
     }
 
+    /**
+     * Get the Maven daemon executable from the configured home or PATH
+     * @return The executable or null if the Maven daemon is not available
+     */
+    private synchronized @Nullable Path getMavenDaemonExecutable() {
+        if (mavenDaemonDisabled) {
+            return null;
+        }
+        if (mavenDaemonExecutable != null) {
+            return mavenDaemonExecutable;
+        }
+        Path home = config.getMavenDaemonHome();
+        Path executable = home != null ? getMavenDaemonExecutable(home) : null;
+        if (executable == null) {
+            Path detected = detectHome("mvnd");
+            executable = detected != null ? getMavenDaemonExecutable(detected) : null;
+        }
+        if (executable == null) {
+            LOG.warn("Maven daemon not found. Set MVND_HOME or ensure 'mvnd' is available in PATH. "
+                    + "Falling back to forked Maven.");
+            mavenDaemonDisabled = true;
+            return null;
+        }
+        LOG.info("Using Maven daemon: " + sanitize(executable.toString()));
+        mavenDaemonExecutable = executable;
+        return executable;
+    }
+
+    /**
+     * Get the Maven daemon executable of a Maven daemon home
+     * @param mavenDaemonHome The Maven daemon home
+     * @return The executable or null if invalid
+     */
+    private @Nullable Path getMavenDaemonExecutable(Path mavenDaemonHome) {
+        Path mvndUnix = mavenDaemonHome.resolve("bin/mvnd");
+        if (mvndUnix.toFile().canExecute()) {
+            return mvndUnix;
+        }
+        Path mvndCmd = mavenDaemonHome.resolve("bin/mvnd.cmd");
+        if (mvndCmd.toFile().exists()) {
+            return mvndCmd;
+        }
+        LOG.debug("Invalid Maven daemon home: " + sanitize(mavenDaemonHome.toString()));
+        return null;
+    }
+
     private String sanitize(String input) {
         return input == null ? null : input.replaceAll("[\\r\\n]", "");
     }
@@ -381,4 +625,79 @@ public class MavenInvoker {
             }
         }
     }
+
+    /**
+     * Goals of a plugin queued to run in a single invocation
+     */
+    private static final class GoalBatch {
+
+        private JDK jdk;
+        private final List<String> goals = new ArrayList<>();
+        private final Set<String> options = new LinkedHashSet<>();
+
+        /**
+         * Return if the given goals can run in the same invocation as the queued ones.
+         * Options apply to the whole invocation so they must match, except for a lone clean which ignores them.
+         * @param jdk The JDK of the goals
+         * @param args The goals and options
+         * @return True if the goals can be queued
+         */
+        private boolean accepts(JDK jdk, String... args) {
+            if (isEmpty()) {
+                return true;
+            }
+            if (!Objects.equals(this.jdk, jdk)) {
+                return false;
+            }
+            List<String> newGoals = goals(args);
+            Set<String> newOptions = options(args);
+            return options.equals(newOptions)
+                    || (options.isEmpty() && isCleanOnly(goals))
+                    || (newOptions.isEmpty() && isCleanOnly(newGoals));
+        }
+
+        private void add(JDK jdk, String... args) {
+            this.jdk = jdk;
+            goals.addAll(goals(args));
+            options.addAll(options(args));
+        }
+
+        private boolean isEmpty() {
+            return goals.isEmpty() && options.isEmpty();
+        }
+
+        private JDK getJdk() {
+            return jdk;
+        }
+
+        private String[] args() {
+            List<String> args = new ArrayList<>(goals);
+            args.addAll(options);
+            return args.toArray(String[]::new);
+        }
+
+        private void clear() {
+            jdk = null;
+            goals.clear();
+            options.clear();
+        }
+
+        private static List<String> goals(String... args) {
+            return Arrays.stream(args).filter(arg -> !arg.startsWith("-")).toList();
+        }
+
+        private static Set<String> options(String... args) {
+            Set<String> options = new LinkedHashSet<>();
+            for (String arg : args) {
+                if (arg.startsWith("-")) {
+                    options.add(arg);
+                }
+            }
+            return options;
+        }
+
+        private static boolean isCleanOnly(List<String> goals) {
+            return !goals.isEmpty() && goals.stream().allMatch("clean"::equals);
+        }
+    }
 }
@@ -10,13 +10,23 @@ import io.jenkins.tools.pluginmodernizer.core.model.DiffStats;
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginCheckpoint;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
 import io.jenkins.tools.pluginmodernizer.core.model.RepoType;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
 import io.jenkins.tools.pluginmodernizer.core.utils.StaticPomParser;
 import jakarta.inject.Inject;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.jgit.api.errors.TransportException;
+import org.kohsuke.github.HttpException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +50,14 @@ public class PluginModernizer {
     @Inject
     private CacheManager cacheManager;
 
+    @Inject
+    private CheckpointJournal checkpointJournal;
+
+    /**
+     * Guard the local metadata repository which is shared by all plugins
+     */
+    private final ReentrantLock metadataRepositoryLock = new ReentrantLock();
+
     /**
      * Validate the configuration
      */
@@ -163,10 +181,12 @@ public class PluginModernizer {
         LOG.debug("Maven Home: {}", config.getMavenHome());
         LOG.debug("Maven Local Repository: {}", config.getMavenLocalRepo());
         LOG.debug("Dry Run: {}", config.isDryRun());
+        LOG.debug("Parallelism: {}", config.getParallelism());
+        LOG.debug("Resume: {}", config.isResume());
         LOG.debug("Maven rewrite plugin version: {}", Settings.MAVEN_REWRITE_PLUGIN_VERSION);
 
-        // Fetch plugin versions
-        pluginService.getPluginVersionData();
+        // Fetch all remote datasets before any plugin work
+        pluginService.prefetch();
 
         List<Plugin> plugins;
         if (config.getTopPluginsCount() > 0) {
@@ -179,8 +199,69 @@ public class PluginModernizer {
         } else {
             plugins = config.getPlugins();
         }
-        plugins.forEach(this::process);
+        preflight(plugins);
+        if (isConcurrent() && plugins.size() > 1) {
+            processConcurrently(plugins);
+        } else {
+            plugins.forEach(this::process);
+        }
         printResults(plugins);
+        int remaining = ghService.getRateLimitRemaining();
+        if (remaining >= 0) {
+            LOG.info("GitHub API rate limit remaining: {}", remaining);
+        }
+    }
+
+    /**
+     * Fetch in batch the state of the plugin repositories when processing more than one plugin.
+     * Plugins not found in the update center are left to the fetch stage.
+     * @param plugins The plugins to process
+     */
+    private void preflight(List<Plugin> plugins) {
+        if (!config.isGithubPreflight() || plugins.size() < 2) {
+            return;
+        }
+        List<String> repositoryNames = plugins.stream()
+                .filter(plugin -> !plugin.isLocal() && pluginService.existsInUpdateCenter(plugin))
+                .map(pluginService::extractRepoName)
+                .distinct()
+                .toList();
+        ghService.preflight(repositoryNames);
+    }
+
+    /**
+     * Return if plugins must be processed concurrently
+     * @return True if any stage has more than one worker
+     */
+    private boolean isConcurrent() {
+        return config.getParallelism() > 1 || config.getFetchParallelism() > 1 || config.getPublishParallelism() > 1;
+    }
+
+    /**
+     * Process plugins through a pipeline of fetch, build and publish stages, each with its own pool of workers.
+     * Each plugin keeps its own state and local repository, results are still printed in input order.
+     * @param plugins The plugins to process
+     */
+    private void processConcurrently(List<Plugin> plugins) {
+        int fetchWorkers = Math.max(1, config.getFetchParallelism());
+        int buildWorkers = Math.max(1, config.getParallelism());
+        int publishWorkers = Math.max(1, config.getPublishParallelism());
+        boolean virtual = config.isVirtualThreads();
+        LOG.info(
+                "Processing {} plugins with {} fetch, {} build and {} publish workers{}",
+                plugins.size(),
+                fetchWorkers,
+                buildWorkers,
+                publishWorkers,
+                virtual ? " (virtual threads for fetch and publish)" : "");
+        // Maven builds are CPU bound and keep platform threads
+        PluginPipeline pipeline = new PluginPipeline(
+                List.of(
+                        new PluginPipeline.Stage("fetch", fetchWorkers, virtual, this::fetchStage),
+                        new PluginPipeline.Stage("build", buildWorkers, false, this::buildStage),
+                        new PluginPipeline.Stage("publish", publishWorkers, virtual, this::publishStage)),
+                this::finish);
+        pipeline.run(plugins);
     }
 
     /**
@@ -188,8 +269,25 @@ public class PluginModernizer {
      * @param plugin The plugin to process
      */
     private void process(Plugin plugin) {
-        boolean earlySkip = false;
-        try {
+        StageResult result = fetchStage(plugin);
+        if (result == StageResult.CONTINUE) {
+            result = buildStage(plugin);
+        }
+        if (result == StageResult.CONTINUE) {
+            result = publishStage(plugin);
+        }
+        if (result != StageResult.SKIPPED) {
+            finish(plugin);
+        }
+    }
+
+    /**
+     * Fetch stage. Validate the plugin and fetch its repository.
+     * @param plugin The plugin to process
+     * @return The stage result
+     */
+    private StageResult fetchStage(Plugin plugin) {
+        return runStage(plugin, () -> {
 
             // Set config
             plugin.withConfig(config);
@@ -200,8 +298,7 @@ public class PluginModernizer {
                 // Use general LOG without plugin marker to avoid creating directories
                 LOG.info("Plugin {} not found in update center. Skipping.", plugin.getName());
                 // Don't add error to plugin object to avoid directory creation through logging discriminator
-                earlySkip = true;
-                return;
+                return StageResult.SKIPPED;
             }
 
             // Determine repo name
@@ -219,21 +316,42 @@ public class PluginModernizer {
                         + "Example:\n"
                         + "  java -jar ./plugin-modernizer-cli/target/jenkins-plugin-modernizer-999999-SNAPSHOT.jar run --plugins="
                         + plugin.getName() + " --recipe=<your-recipe> --allow-deprecated-plugins");
-                return;
+                return StageResult.DONE;
             }
             if (plugin.isArchived(ghService)) {
                 LOG.info("Plugin {} is archived. Skipping.", plugin.getName());
                 plugin.addError("Plugin is archived");
-                return;
+                return StageResult.DONE;
             }
             if (config.isSkipVerification()) {
                 LOG.info("Skipping verification for plugin {}", plugin.getName());
             }
 
-            if (config.isRemoveForks()) {
-                plugin.deleteFork(ghService);
+            // No checkpoint for dry-run because changes are never committed
+            if (!config.isDryRun()) {
+                checkpointJournal.open(plugin, config.getRecipe().getName(), config.isResume());
+                if (checkpointJournal.isReached(plugin, PluginCheckpoint.Stage.FETCHED) && !isResumable(plugin)) {
+                    checkpointJournal.reset(plugin);
+                }
+                if (checkpointJournal.isReached(plugin, PluginCheckpoint.Stage.PR_OPENED)) {
+                    LOG.info("Plugin {} was already processed. Skipping.", plugin.getName());
+                    return StageResult.SKIPPED;
+                }
+            }
+
+            if (checkpointJournal.isReached(plugin, PluginCheckpoint.Stage.FETCHED)) {
+                LOG.info("Plugin {} already fetched. Resuming from its local repository.", plugin.getName());
+            } else {
+                if (config.isRemoveForks()) {
+                    plugin.deleteFork(ghService);
+                }
+                plugin.fetch(ghService);
+                if (!plugin.hasUpstreamChanges()) {
+                    LOG.info(
+                            "Plugin {} is unchanged since its last fetch. Metadata cached for its HEAD commit will be reused",
+                            plugin.getName());
+                }
             }
-            plugin.fetch(ghService);
 
             // Adjust for multi-module projects after fetching
             plugin.adjustForMultiModule();
@@ -242,12 +360,36 @@ public class PluginModernizer {
                 LOG.info("Plugin {} has errors. Will not process this plugin.", plugin.getName());
             }
 
-            // Set the metadata from cache if available
-            plugin.loadMetadata(cacheManager);
+            // Set the metadata from cache if available. Metadata of a resumed plugin never expires
+            // Otherwise it's reused as long as it was collected from the same sources
+            if (checkpointJournal.isReached(plugin, PluginCheckpoint.Stage.METADATA)) {
+                plugin.loadMetadata(checkpointJournal.getCacheManager());
+            } else {
+                plugin.loadMetadata(cacheManager, plugin.getSourceKey(ghService));
+            }
+
+            if (!plugin.hasErrors()) {
+                checkpointJournal.record(plugin, PluginCheckpoint.Stage.FETCHED);
+            }
+            return StageResult.CONTINUE;
+        });
+    }
+
+    /**
+     * Build stage. Collect metadata, run the recipe, verify and commit the changes.
+     * @param plugin The plugin to process
+     * @return The stage result
+     */
+    private StageResult buildStage(Plugin plugin) {
+        return runStage(plugin, () -> {
+
+            boolean resumedMetadata = checkpointJournal.isReached(plugin, PluginCheckpoint.Stage.METADATA);
+            boolean rewritten = checkpointJournal.isReached(plugin, PluginCheckpoint.Stage.REWRITTEN);
+            boolean verified = checkpointJournal.isReached(plugin, PluginCheckpoint.Stage.VERIFIED);
 
             // Compile only if we are able to find metadata
             // For the moment it's local cache only but later will fetch on remote storage
-            if (!config.isFetchMetadataOnly() && !config.isSkipVerification()) {
+            if (!config.isFetchMetadataOnly() && !config.isSkipVerification() && !resumedMetadata) {
                 if (plugin.getMetadata() != null && !plugin.hasPreconditionErrors()) {
                     JDK jdk = compilePlugin(plugin);
                     LOG.debug("Plugin {} compiled successfully with JDK {}", plugin.getName(), jdk.getMajor());
@@ -258,7 +400,10 @@ public class PluginModernizer {
                 }
             }
 
-            plugin.checkoutBranch(ghService);
+            // Checking out the branch again would reset the changes of the recipe
+            if (!rewritten) {
+                plugin.checkoutBranch(ghService);
+            }
 
             // Minimum JDK to run openrewrite
             plugin.withJDK(JDK.JAVA_25);
@@ -299,7 +444,7 @@ public class PluginModernizer {
                 LOG.info(
                         "Skipping plugin {} due to metadata/precondition errors. Check logs for more details.",
                         plugin.getName());
-                return;
+                return StageResult.DONE;
             }
 
             // Handle outdated plugin or unparsable Jenkinsfile
@@ -343,6 +488,8 @@ public class PluginModernizer {
                 }
             }
 
+            checkpointJournal.record(plugin, PluginCheckpoint.Stage.METADATA);
+
             plugin.setJenkinsBaseline(plugin.getMetadata().getProperties().get("jenkins.baseline"));
             String jenkinsVersion = plugin.getMetadata().getJenkinsVersion();
             plugin.setJenkinsVersion(jenkinsVersion);
@@ -353,16 +500,21 @@ public class PluginModernizer {
             }
 
             // Run OpenRewrite
-            plugin.runOpenRewrite(mavenInvoker);
-            if (plugin.hasErrors()) {
-                LOG.warn(
-                        "Skipping plugin {} due to openrewrite recipes errors. Check logs for more details.",
-                        plugin.getName());
-                return;
+            if (rewritten) {
+                LOG.info("Recipe already applied to plugin {}. Resuming after it.", plugin.getName());
+            } else {
+                plugin.runOpenRewrite(mavenInvoker);
+                if (plugin.hasErrors()) {
+                    LOG.warn(
+                            "Skipping plugin {} due to openrewrite recipes errors. Check logs for more details.",
+                            plugin.getName());
+                    return StageResult.DONE;
+                }
+                checkpointJournal.record(plugin, PluginCheckpoint.Stage.REWRITTEN);
             }
 
             // Verify plugin
-            if (!config.isFetchMetadataOnly() && !config.isSkipVerification()) {
+            if (!config.isFetchMetadataOnly() && !config.isSkipVerification() && !verified) {
                 JDK jdk = verifyPlugin(plugin);
                 LOG.info("Plugin {} verified successfully with JDK {}", plugin.getName(), jdk.getMajor());
             }
@@ -372,55 +524,177 @@ public class PluginModernizer {
                         "Plugin {} failed verification after modernization. Check logs for more details.",
                         plugin.getName());
                 if (!config.isDryRun()) {
-                    return;
+                    return StageResult.DONE;
                 }
                 // In dry-run mode we are only previewing changes, so clear the error and
                 // continue so the diff is still displayed to the user.
                 plugin.withoutErrors();
             }
 
+            // Nothing to publish when only fetching metadata
+            if (config.isFetchMetadataOnly()) {
+                return StageResult.DONE;
+            }
+
+            // Changes were already committed by a previous run
+            if (verified) {
+                LOG.info("Plugin {} already verified and committed. Resuming before publication.", plugin.getName());
+                plugin.addModifiedFiles(checkpointJournal.getModifiedFiles(plugin));
+                if (!plugin.getModifiedFiles().isEmpty()) {
+                    plugin.withCommits();
+                }
+                plugin.loadModernizedMetadata(checkpointJournal.getCacheManager());
+                return StageResult.CONTINUE;
+            }
+
             // Recollect metadata after modernization
-            if (!config.isFetchMetadataOnly()) {
-                plugin.withJDK(JDK.JAVA_25);
+            plugin.withJDK(JDK.JAVA_25);
+            mavenInvoker.batch(plugin, () -> {
                 plugin.clean(mavenInvoker);
-                collectMetadata(plugin, false);
-                LOG.debug(
-                        "Plugin {} metadata after modernization: {}",
-                        plugin.getName(),
-                        plugin.getMetadata().toJson());
+                collectModernizedMetadata(plugin);
+            });
+            LOG.debug("Plugin {} metadata after modernization: {}", plugin.getName(), plugin.getMetadata().toJson());
 
-                // Clean target folder before committing changes
-                if (!config.isDryRun()) {
-                    plugin.clean(mavenInvoker);
+            // Clean target folder before committing changes
+            if (!config.isDryRun()) {
+                plugin.clean(mavenInvoker);
+            }
+            plugin.commit(ghService);
+            if (!plugin.hasErrors()) {
+                checkpointJournal.record(plugin, PluginCheckpoint.Stage.VERIFIED);
+            }
+            return StageResult.CONTINUE;
+        });
+    }
+
+    /**
+     * Publish stage. Push the changes and open the pull request.
+     * @param plugin The plugin to process
+     * @return The stage result
+     */
+    private StageResult publishStage(Plugin plugin) {
+        return runStage(plugin, () -> {
+            boolean isOptOutPlugin =
+                    pluginService.getOptOutPluginsData().getOptedOutPlugins().contains(plugin.getName());
+            // Only fork/push/PR if we have any changes and the plugin hasn't opted out for receiving PRs or
+            // override the default behaviour
+            if (!plugin.getModifiedFiles().isEmpty() && (!isOptOutPlugin || config.isOverrideOptOutPlugins())) {
+                plugin.fork(ghService);
+                plugin.sync(ghService);
+                if (checkpointJournal.isReached(plugin, PluginCheckpoint.Stage.PUSHED)) {
+                    LOG.info("Changes of plugin {} already pushed", plugin.getName());
+                    plugin.withChangesPushed();
+                } else {
+                    publish(plugin, "push changes", () -> plugin.push(ghService));
+                    checkpointJournal.record(plugin, PluginCheckpoint.Stage.PUSHED);
                 }
-                plugin.commit(ghService);
-
-                boolean isOptOutPlugin = pluginService
-                        .getOptOutPluginsData()
-                        .getOptedOutPlugins()
-                        .contains(plugin.getName());
-                // Only fork/push/PR if we have any changes and the plugin hasn't opted out for receiving PRs or
-                // override the default behaviour
-                if (!plugin.getModifiedFiles().isEmpty() && (!isOptOutPlugin || config.isOverrideOptOutPlugins())) {
-                    plugin.fork(ghService);
-                    plugin.sync(ghService);
-                    plugin.push(ghService);
-                    plugin.openPullRequest(ghService);
+                publish(plugin, "open pull request", () -> plugin.openPullRequest(ghService));
+                checkpointJournal.record(plugin, PluginCheckpoint.Stage.PR_OPENED);
+            } else {
+                if (isOptOutPlugin) {
+                    LOG.info(
+                            "Plugin {} has opted out for receiving PRs. See https://github.com/jenkins-infra/metadata-plugin-modernizer/blob/main/opt-out-plugins.json, Use the --override-opt-out-plugins to override the default behaviour",
+                            plugin.getName());
                 } else {
-                    if (isOptOutPlugin) {
-                        LOG.info(
-                                "Plugin {} has opted out for receiving PRs. See https://github.com/jenkins-infra/metadata-plugin-modernizer/blob/main/opt-out-plugins.json, Use the --override-opt-out-plugins to override the default behaviour",
-                                plugin.getName());
-                    } else {
-                        LOG.info("No changes were made for plugin {}", plugin.getName());
-                    }
+                    LOG.info("No changes were made for plugin {}", plugin.getName());
                 }
+            }
 
-                if (config.isRemoveForks()) {
-                    plugin.deleteFork(ghService);
+            if (config.isRemoveForks()) {
+                plugin.deleteFork(ghService);
+            }
+            return StageResult.DONE;
+        });
+    }
+
+    /**
+     * Run a publication step, retrying it with an increasing delay when it fails for a transient reason.
+     * Errors of attempts that are retried are discarded
+     * @param plugin The plugin
+     * @param step Description of the step
+     * @param action The step
+     * @throws InterruptedException If interrupted while waiting for the next attempt
+     */
+    private void publish(Plugin plugin, String step, Runnable action) throws InterruptedException {
+        Duration delay = Settings.PUBLISH_RETRY_DELAY;
+        for (int attempt = 0; ; attempt++) {
+            int errors = plugin.getErrors().size();
+            try {
+                action.run();
+                return;
+            } catch (PluginProcessingException e) {
+                if (attempt >= config.getPublishRetries() || !isTransient(e)) {
+                    throw e;
                 }
+                LOG.warn(
+                        "Failed to {} for plugin {}: {}. Retrying in {}s",
+                        step,
+                        plugin.getName(),
+                        e.getMessage(),
+                        delay.toSeconds());
+                plugin.removeErrorsAfter(errors);
+            }
+            Thread.sleep(delay);
+            Duration next = delay.multipliedBy(2);
+            delay = next.compareTo(Settings.MAX_PUBLISH_RETRY_DELAY) > 0 ? Settings.MAX_PUBLISH_RETRY_DELAY : next;
+        }
+    }
+
+    /**
+     * Return if a publication failure can succeed on retry. Network errors, server errors and rate limits
+     * are transient. A rejected push or a pull request refused by GitHub are not
+     * @param e The failure
+     * @return True if the failure is transient
+     */
+    static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpException httpException) {
+                int status = httpException.getResponseCode();
+                return status >= 500
+                        || status == 429
+                        || status == 403 && String.valueOf(httpException.getMessage()).contains("rate limit");
+            }
+            if (cause instanceof FileNotFoundException) {
+                return false;
+            }
+            if (cause instanceof TransportException || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return if a plugin can resume from its checkpoint
+     * @param plugin The plugin
+     * @return True if the local repository and, once collected, the metadata are still available
+     */
+    private boolean isResumable(Plugin plugin) {
+        if (!Files.isDirectory(plugin.getLocalRepository())) {
+            LOG.info("Local repository of plugin {} is missing. Not resuming.", plugin.getName());
+            return false;
+        }
+        if (checkpointJournal.isReached(plugin, PluginCheckpoint.Stage.METADATA)) {
+            PluginMetadata metadata = checkpointJournal
+                    .getCacheManager()
+                    .get(Path.of(plugin.getName()), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+            if (metadata == null) {
+                LOG.info("Metadata of plugin {} is missing. Not resuming.", plugin.getName());
+                return false;
             }
+        }
+        return true;
+    }
 
+    /**
+     * Run a stage and record any uncaught error on the plugin
+     * @param plugin The plugin to process
+     * @param stage The stage to run
+     * @return The stage result, DONE if the stage failed
+     */
+    private StageResult runStage(Plugin plugin, Callable<StageResult> stage) {
+        try {
+            return stage.call();
         }
         // Uncatched plugin processing errors
         catch (PluginProcessingException e) {
@@ -433,25 +707,47 @@ public class PluginModernizer {
             if (!plugin.hasErrors()) {
                 plugin.addError("Unexpected processing error. Check the logs at " + plugin.getLogFile(), e);
             }
-        } finally {
-            if (!config.isSkipMetadata() && !earlySkip && !config.isDryRun()) {
-                try {
-                    collectModernizationMetadata(plugin);
-                    validateModernizationMetadata(plugin);
-                    if (plugin.getModernizationMetadata() != null) {
-                        plugin.fetchMetadata(ghService);
-                        plugin.forkMetadata(ghService);
-                        plugin.syncMetadata(ghService);
-                        plugin.checkoutMetadataBranch(ghService);
-                        plugin.copyMetadataToLocalMetadataRepo(cacheManager);
-                        plugin.commitMetadata(ghService);
-                        plugin.pushMetadata(ghService);
-                        plugin.openMetadataPullRequest(ghService);
-                    }
-                } catch (Exception e) {
-                    plugin.addError("Failed to collect modernization metadata for plugin " + plugin.getName(), e);
-                }
+        }
+        return StageResult.DONE;
+    }
+
+    /**
+     * Last step of the processing of a plugin that was not skipped. Collect and publish the modernization metadata.
+     * @param plugin The plugin
+     */
+    private void finish(Plugin plugin) {
+        if (config.isSkipMetadata() || config.isDryRun()) {
+            return;
+        }
+        try {
+            collectModernizationMetadata(plugin);
+            validateModernizationMetadata(plugin);
+            if (plugin.getModernizationMetadata() != null) {
+                publishModernizationMetadata(plugin);
             }
+        } catch (Exception e) {
+            plugin.addError("Failed to collect modernization metadata for plugin " + plugin.getName(), e);
+        }
+    }
+
+    /**
+     * Publish the modernization metadata of a plugin to the metadata repository.
+     * The local metadata repository is shared by all plugins so only one plugin can use it at a time.
+     * @param plugin The plugin
+     */
+    private void publishModernizationMetadata(Plugin plugin) {
+        metadataRepositoryLock.lock();
+        try {
+            plugin.fetchMetadata(ghService);
+            plugin.forkMetadata(ghService);
+            plugin.syncMetadata(ghService);
+            plugin.checkoutMetadataBranch(ghService);
+            plugin.copyMetadataToLocalMetadataRepo(cacheManager);
+            plugin.commitMetadata(ghService);
+            plugin.pushMetadata(ghService);
+            plugin.openMetadataPullRequest(ghService);
+        } finally {
+            metadataRepositoryLock.unlock();
         }
     }
 
@@ -462,6 +758,8 @@ public class PluginModernizer {
     private void collectMetadata(Plugin plugin, boolean retryAfterFirstCompile) {
         LOG.trace("Collecting metadata for plugin {}... Please be patient", plugin.getName());
         plugin.withJDK(JDK.JAVA_25);
+        // Metadata collected from remediated sources has no source key and relies on expiration only
+        String sourceKey = plugin.getSourceKey(ghService);
         try {
             plugin.collectMetadata(mavenInvoker);
             if (plugin.hasErrors()) {
@@ -487,8 +785,23 @@ public class PluginModernizer {
                 throw e;
             }
         }
-        plugin.copyMetadata(cacheManager);
-        plugin.loadMetadata(cacheManager);
+        plugin.copyMetadata(cacheManager, sourceKey);
+        plugin.loadMetadata(cacheManager, sourceKey);
+        plugin.enrichMetadata(pluginService);
+    }
+
+    /**
+     * Collect metadata for a plugin after modernization. It's cached apart from the metadata of its sources
+     * @param plugin The plugin
+     */
+    private void collectModernizedMetadata(Plugin plugin) {
+        LOG.trace("Collecting metadata for modernized plugin {}... Please be patient", plugin.getName());
+        plugin.withJDK(JDK.JAVA_25);
+        plugin.collectMetadata(mavenInvoker);
+        if (plugin.hasErrors()) {
+            plugin.raiseLastError();
+        }
+        plugin.copyModernizedMetadata(cacheManager);
         plugin.enrichMetadata(pluginService);
     }
 
@@ -576,8 +889,10 @@ public class PluginModernizer {
         PluginMetadata metadata = plugin.getMetadata();
         JDK jdk = JDK.min(metadata.getJdks(), metadata.getJenkinsVersion());
         plugin.withJDK(jdk);
-        plugin.clean(mavenInvoker);
-        plugin.compile(mavenInvoker);
+        mavenInvoker.batch(plugin, () -> {
+            plugin.clean(mavenInvoker);
+            plugin.compile(mavenInvoker);
+        });
         return jdk;
     }
 
@@ -608,9 +923,11 @@ public class PluginModernizer {
 
         // Build it
         plugin.withJDK(jdk);
-        plugin.clean(mavenInvoker);
-        plugin.format(mavenInvoker);
-        plugin.verify(mavenInvoker);
+        mavenInvoker.batch(plugin, () -> {
+            plugin.clean(mavenInvoker);
+            plugin.format(mavenInvoker);
+            plugin.verify(mavenInvoker);
+        });
         if (plugin.hasErrors()) {
             LOG.warn("Plugin {} failed to verify with JDK {}", plugin.getName(), jdk.getMajor());
         }
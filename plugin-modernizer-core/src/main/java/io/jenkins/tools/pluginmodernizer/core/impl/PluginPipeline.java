@@ -0,0 +1,166 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process plugins through consecutive stages, each stage having its own pool of workers.
+ * A stage only accepts a bounded number of plugins. A worker handing a plugin to a full stage waits for a free slot,
+ * so a slow stage throttles the previous ones instead of accumulating work.
+ */
+class PluginPipeline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PluginPipeline.class);
+
+    /**
+     * A stage of the pipeline
+     * @param name The name of the stage, used to name the worker threads
+     * @param workers The number of workers of the stage
+     * @param virtual True to run each plugin of this stage on its own virtual thread, for network bound stages
+     * @param action The action to run for each plugin
+     */
+    record Stage(String name, int workers, boolean virtual, Function<Plugin, StageResult> action) {}
+
+    /**
+     * The stages
+     */
+    private final List<Stage> stages;
+
+    /**
+     * Run on the last stage for each plugin that was not skipped
+     */
+    private final Consumer<Plugin> finisher;
+
+    /**
+     * Create a new pipeline
+     * @param stages The stages in processing order
+     * @param finisher Action to run once a plugin no longer continues to the next stage, unless it was skipped
+     */
+    PluginPipeline(List<Stage> stages, Consumer<Plugin> finisher) {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("A pipeline needs at least one stage");
+        }
+        this.stages = List.copyOf(stages);
+        this.finisher = finisher;
+    }
+
+    /**
+     * Process all plugins and wait for completion
+     * @param plugins The plugins to process
+     */
+    void run(List<Plugin> plugins) {
+        new Execution(plugins.size()).run(plugins);
+    }
+
+    /**
+     * State of a single run of the pipeline
+     */
+    private class Execution {
+
+        private final List<ExecutorService> executors = new ArrayList<>();
+        private final List<Semaphore> slots = new ArrayList<>();
+        private final CountDownLatch remaining;
+
+        private Execution(int size) {
+            this.remaining = new CountDownLatch(size);
+            for (Stage stage : stages) {
+                if (stage.virtual()) {
+                    // Virtual threads are cheap, the slots alone bound the number of running plugins
+                    executors.add(Executors.newThreadPerTaskExecutor(
+                            Thread.ofVirtual().name(stage.name() + "-virtual-", 1).factory()));
+                    slots.add(new Semaphore(stage.workers()));
+                } else {
+                    executors.add(Executors.newFixedThreadPool(
+                            stage.workers(),
+                            Thread.ofPlatform().name(stage.name() + "-worker-", 1).factory()));
+                    // Running plugins plus as many waiting ones
+                    slots.add(new Semaphore(stage.workers() * 2));
+                }
+            }
+        }
+
+        private void run(List<Plugin> plugins) {
+            try {
+                for (Plugin plugin : plugins) {
+                    submit(0, plugin, false);
+                }
+                remaining.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ModernizerException("Interrupted while processing plugins", e);
+            } finally {
+                executors.forEach(ExecutorService::shutdownNow);
+            }
+        }
+
+        /**
+         * Hand a plugin to a stage, waiting for a free slot
+         * @param index The stage index
+         * @param plugin The plugin
+         * @param finishOnly True to only run the finisher on this stage
+         * @throws InterruptedException If interrupted while waiting for a slot
+         */
+        private void submit(int index, Plugin plugin, boolean finishOnly) throws InterruptedException {
+            Semaphore slot = slots.get(index);
+            slot.acquire();
+            try {
+                executors.get(index).execute(() -> {
+                    try {
+                        handle(index, plugin, finishOnly);
+                    } finally {
+                        slot.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                slot.release();
+                throw e;
+            }
+        }
+
+        /**
+         * Run a stage for a plugin and hand it to the next one
+         * @param index The stage index
+         * @param plugin The plugin
+         * @param finishOnly True to only run the finisher
+         */
+        private void handle(int index, Plugin plugin, boolean finishOnly) {
+            int last = stages.size() - 1;
+            boolean handedOff = false;
+            try {
+                StageResult result =
+                        finishOnly ? StageResult.DONE : stages.get(index).action().apply(plugin);
+                if (result == StageResult.CONTINUE && index < last) {
+                    submit(index + 1, plugin, false);
+                    handedOff = true;
+                } else if (result != StageResult.SKIPPED) {
+                    if (index < last) {
+                        submit(last, plugin, true);
+                        handedOff = true;
+                    } else {
+                        finisher.accept(plugin);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.warn("Interrupted while processing plugin {}", plugin.getName());
+            } catch (RuntimeException e) {
+                LOG.error("Unexpected error while processing plugin {}", plugin.getName(), e);
+            } finally {
+                if (!handedOff) {
+                    remaining.countDown();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jenkins.tools.pluginmodernizer.core.config.Config;
+import io.jenkins.tools.pluginmodernizer.core.extractor.ArchetypeCommonFile;
+import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
+import io.jenkins.tools.pluginmodernizer.core.model.RewriteResult;
+import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+import org.openrewrite.groovy.GroovyParser;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.json.JsonParser;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.MavenParser;
+import org.openrewrite.maven.tree.MavenRepository;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.maven.tree.Scope;
+import org.openrewrite.quark.Quark;
+import org.openrewrite.text.PlainTextParser;
+import org.openrewrite.tree.ParseError;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.yaml.YamlParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Run OpenRewrite recipes inside this process with the rewrite artifacts already on the classpath.
+ * Sources are parsed once per run and the Java classpath is resolved from the Maven local repository populated
+ * by the compilation of the plugin. Results are written back to the plugin local repository and cached by git tree id,
+ * JDK and the validators (ETag or Last-Modified) of the update center and plugin versions datasets, so a recipe running
+ * again on unchanged sources, even in a later run, skips parsing until these datasets change.
+ */
+public class RewriteEngine {
+
+    /**
+     * The logger to use
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(RewriteEngine.class);
+
+    /**
+     * Directories never parsed
+     */
+    private static final Set<String> EXCLUDED_DIRECTORIES = Set.of(".git", ".idea", "target", "work", "node_modules");
+
+    /**
+     * The configuration to use
+     */
+    @Inject
+    private Config config;
+
+    /**
+     * The service providing the remote datasets
+     */
+    @Inject
+    private PluginService pluginService;
+
+    /**
+     * Recipes found on the classpath. Scanning is expensive so it's done once
+     */
+    private volatile Environment environment;
+
+    /**
+     * Cache of rewrite results, created on first use
+     */
+    private volatile CacheManager cacheManager;
+
+    /**
+     * Run a recipe on the plugin and write the results to its local repository
+     * @param plugin The plugin to run the recipe on
+     * @param recipe The recipe to run
+     * @return The paths of the changed files relative to the local repository
+     */
+    public List<Path> run(Plugin plugin, Recipe recipe) {
+        Path root = plugin.getLocalRepository().toAbsolutePath();
+        String treeId = getTreeId(root);
+        String remoteKey = treeId != null ? getRemoteKey() : null;
+        int jdk = plugin.getJDK() != null ? plugin.getJDK().getMajor() : Runtime.version().feature();
+
+        // Unchanged sources parsed with the same JDK give the same result as long as the remote datasets
+        // recipes depend on (latest versions, update center) didn't change
+        if (remoteKey != null) {
+            RewriteResult cached = getCacheManager()
+                    .get(Path.of(plugin.getName()), CacheManager.REWRITE_RESULT_CACHE_KEY, RewriteResult.class);
+            if (cached != null && cached.matches(treeId, jdk, recipe.getName(), config.getVersion(), remoteKey)) {
+                LOG.info("Reusing result of recipe {} for unchanged plugin {}", recipe.getName(), plugin.getName());
+                return apply(root, cached.getChanges());
+            }
+        }
+
+        org.openrewrite.Recipe rewriteRecipe = getEnvironment()
+                .activateRecipes(recipe.getRecipes().stream().map(Recipe::getName).toList());
+        ExecutionContext ctx = createExecutionContext(plugin);
+        List<SourceFile> sourceFiles = parse(plugin, root, ctx);
+        LOG.debug("Parsed {} source files for plugin {}", sourceFiles.size(), plugin.getName());
+        RecipeRun run = rewriteRecipe.run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+        List<RewriteResult.FileChange> changes = new ArrayList<>();
+        for (Result result : run.getChangeset().getAllResults()) {
+            changes.addAll(toChanges(result));
+        }
+        List<Path> changed = apply(root, changes);
+        LOG.debug("Recipe {} changed {} files for plugin {}", recipe.getName(), changed.size(), plugin.getName());
+
+        if (remoteKey != null) {
+            RewriteResult rewriteResult = new RewriteResult(getCacheManager(), plugin);
+            rewriteResult.setInputs(treeId, jdk, recipe.getName(), config.getVersion(), remoteKey);
+            rewriteResult.setChanges(changes);
+            rewriteResult.save();
+        }
+        return changed;
+    }
+
+    /**
+     * Parse all sources of the plugin
+     * @param plugin The plugin
+     * @param root The plugin local repository
+     * @param ctx The execution context
+     * @return The source files
+     */
+    List<SourceFile> parse(Plugin plugin, Path root, ExecutionContext ctx) {
+        List<Path> poms = new ArrayList<>();
+        List<Path> javaSources = new ArrayList<>();
+        List<Path> groovySources = new ArrayList<>();
+        List<Path> yamlSources = new ArrayList<>();
+        List<Path> xmlSources = new ArrayList<>();
+        List<Path> jsonSources = new ArrayList<>();
+        List<Path> textSources = new ArrayList<>();
+        Set<Path> commonFiles = Arrays.stream(ArchetypeCommonFile.values())
+                .flatMap(file -> file.getPaths().stream())
+                .map(root::resolve)
+                .collect(Collectors.toSet());
+
+        for (Path path : listFiles(root)) {
+            String fileName = path.getFileName().toString();
+            if (fileName.equals("pom.xml")) {
+                poms.add(path);
+            } else if (fileName.endsWith(".java")) {
+                javaSources.add(path);
+            } else if (fileName.equals("Jenkinsfile") || fileName.endsWith(".groovy")) {
+                groovySources.add(path);
+            } else if (fileName.endsWith(".yml") || fileName.endsWith(".yaml")) {
+                yamlSources.add(path);
+            } else if (fileName.endsWith(".xml") || fileName.endsWith(".jelly")) {
+                xmlSources.add(path);
+            } else if (fileName.endsWith(".json")) {
+                jsonSources.add(path);
+            } else if (commonFiles.contains(path)) {
+                textSources.add(path);
+            }
+        }
+
+        List<SourceFile> sourceFiles = new ArrayList<>(
+                parse(MavenParser.builder().build(), poms, root, ctx).toList());
+        sourceFiles.addAll(parse(
+                        JavaParser.fromJavaVersion()
+                                .classpath(resolveClasspath(root, sourceFiles))
+                                .logCompilationWarningsAndErrors(false)
+                                .build(),
+                        javaSources,
+                        root,
+                        ctx)
+                .toList());
+        sourceFiles.addAll(
+                parse(GroovyParser.builder().build(), groovySources, root, ctx).toList());
+        sourceFiles.addAll(
+                parse(YamlParser.builder().build(), yamlSources, root, ctx).toList());
+        sourceFiles.addAll(parse(XmlParser.builder().build(), xmlSources, root, ctx).toList());
+        sourceFiles.addAll(
+                parse(JsonParser.builder().build(), jsonSources, root, ctx).toList());
+        sourceFiles.addAll(
+                parse(PlainTextParser.builder().build(), textSources, root, ctx).toList());
+
+        sourceFiles.stream()
+                .filter(ParseError.class::isInstance)
+                .forEach(error -> LOG.warn(
+                        plugin.getMarker(), "Unable to parse {}, it will be left untouched", error.getSourcePath()));
+        return sourceFiles;
+    }
+
+    /**
+     * Resolve the Java classpath from the dependencies of the root POM. Only artifacts already present in the
+     * local repository are used, they are downloaded by the compilation of the plugin.
+     * @param root The plugin local repository
+     * @param sourceFiles The parsed POM files
+     * @return The classpath
+     */
+    private List<Path> resolveClasspath(Path root, List<SourceFile> sourceFiles) {
+        Path localRepo = config.getMavenLocalRepo();
+        Set<Path> classpath = new LinkedHashSet<>();
+        Path classes = root.resolve("target/classes");
+        if (Files.isDirectory(classes)) {
+            classpath.add(classes);
+        }
+        if (localRepo == null) {
+            return new ArrayList<>(classpath);
+        }
+        sourceFiles.stream()
+                .map(sourceFile -> sourceFile.getMarkers().findFirst(MavenResolutionResult.class))
+                .flatMap(Optional::stream)
+                .flatMap(result -> Stream.of(Scope.Provided, Scope.Test)
+                        .flatMap(scope ->
+                                result.getDependencies().getOrDefault(scope, List.of()).stream()))
+                .map(dependency -> getArtifact(localRepo, dependency))
+                .filter(Files::isRegularFile)
+                .forEach(classpath::add);
+        return new ArrayList<>(classpath);
+    }
+
+    /**
+     * Get the jar of a dependency in the local repository
+     * @param localRepo The local repository
+     * @param dependency The dependency
+     * @return The path of the jar
+     */
+    private Path getArtifact(Path localRepo, ResolvedDependency dependency) {
+        return localRepo
+                .resolve(dependency.getGroupId().replace('.', '/'))
+                .resolve(dependency.getArtifactId())
+                .resolve(dependency.getVersion())
+                .resolve(dependency.getArtifactId() + "-" + dependency.getVersion() + ".jar");
+    }
+
+    /**
+     * Convert a result to the file changes to apply
+     * @param result The result
+     * @return The file changes
+     */
+    private List<RewriteResult.FileChange> toChanges(Result result) {
+        SourceFile before = result.getBefore();
+        SourceFile after = result.getAfter();
+        List<RewriteResult.FileChange> changes = new ArrayList<>();
+        if (before != null && (after == null || !before.getSourcePath().equals(after.getSourcePath()))) {
+            changes.add(new RewriteResult.FileChange(before.getSourcePath().toString(), null, null));
+        }
+        if (after != null && !(after instanceof Quark)) {
+            Charset charset = after.getCharset() == null ? StandardCharsets.UTF_8 : after.getCharset();
+            changes.add(new RewriteResult.FileChange(
+                    after.getSourcePath().toString(), after.printAll(), charset.name()));
+        }
+        return changes;
+    }
+
+    /**
+     * Write file changes to disk
+     * @param root The plugin local repository
+     * @param changes The file changes
+     * @return The changed paths
+     */
+    private List<Path> apply(Path root, List<RewriteResult.FileChange> changes) {
+        List<Path> changed = new ArrayList<>();
+        try {
+            for (RewriteResult.FileChange change : changes) {
+                Path target = root.resolve(change.getPath());
+                if (change.isDeleted()) {
+                    Files.deleteIfExists(target);
+                } else {
+                    if (target.getParent() != null) {
+                        Files.createDirectories(target.getParent());
+                    }
+                    Files.writeString(target, change.getContent(), Charset.forName(change.getCharset()));
+                }
+                changed.add(Path.of(change.getPath()));
+            }
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to write rewrite result to " + root, e);
+        }
+        return changed;
+    }
+
+    /**
+     * Get the git tree id of the checked out sources
+     * @param root The plugin local repository
+     * @return The tree id or null if not a git repository or if it has uncommitted changes
+     */
+    private @Nullable String getTreeId(Path root) {
+        try (Git git = Git.open(root.toFile())) {
+            if (!git.status().call().isClean()) {
+                LOG.debug("Sources of {} have uncommitted changes. Not caching rewrite result", root);
+                return null;
+            }
+            ObjectId tree = git.getRepository().resolve("HEAD^{tree}");
+            return tree == null ? null : tree.name();
+        } catch (IOException | GitAPIException e) {
+            LOG.debug("Unable to get git tree of {}: {}", root, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get a key of the remote datasets the recipes read, made of the validators of their cache entries
+     * @return The key or null if a dataset is unavailable or has no validator. Results are not cached then
+     */
+    private @Nullable String getRemoteKey() {
+        try {
+            String updateCenter = getValidator(pluginService.getUpdateCenterData());
+            String pluginVersions = getValidator(pluginService.getPluginVersionData());
+            if (updateCenter == null || pluginVersions == null) {
+                LOG.debug("Remote datasets have no validator. Not caching rewrite result");
+                return null;
+            }
+            return updateCenter + "|" + pluginVersions;
+        } catch (ModernizerException e) {
+            LOG.debug("Unable to get remote datasets: {}. Not caching rewrite result", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get the validator of a cache entry
+     * @param entry The cache entry
+     * @return The ETag, otherwise the Last-Modified date or null if none
+     */
+    private static @Nullable String getValidator(CacheEntry<?> entry) {
+        return entry.getEtag() != null ? entry.getEtag() : entry.getLastModified();
+    }
+
+    /**
+     * Get the cache manager storing rewrite results. Results are keyed by all their inputs so they never expire
+     * @return The cache manager
+     */
+    private CacheManager getCacheManager() {
+        CacheManager current = cacheManager;
+        if (current == null) {
+            synchronized (this) {
+                current = cacheManager;
+                if (current == null) {
+                    current = new CacheManager(config.getCachePath(), Clock.systemDefaultZone(), false);
+                    cacheManager = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Create the execution context for a plugin
+     * @param plugin The plugin
+     * @return The execution context
+     */
+    private ExecutionContext createExecutionContext(Plugin plugin) {
+        ExecutionContext ctx = new InMemoryExecutionContext(
+                t -> LOG.debug(plugin.getMarker(), "Error during recipe execution: {}", t.getMessage(), t));
+        Path localRepo = config.getMavenLocalRepo();
+        if (localRepo != null) {
+            MavenExecutionContextView.view(ctx)
+                    .setLocalRepository(MavenRepository.builder()
+                            .id("local")
+                            .uri(localRepo.toUri().toString())
+                            .knownToExist(true)
+                            .build());
+        }
+        return ctx;
+    }
+
+    /**
+     * Get the environment with all recipes of the classpath
+     * @return The environment
+     */
+    private Environment getEnvironment() {
+        Environment current = environment;
+        if (current == null) {
+            synchronized (this) {
+                current = environment;
+                if (current == null) {
+                    LOG.debug("Scanning classpath for recipes");
+                    current = Environment.builder().scanRuntimeClasspath().build();
+                    environment = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static Stream<SourceFile> parse(Parser parser, List<Path> paths, Path root, ExecutionContext ctx) {
+        if (paths.isEmpty()) {
+            return Stream.empty();
+        }
+        return parser.parse(paths, root, ctx);
+    }
+
+    private static List<Path> listFiles(Path root) {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> {
+                        Path relative = root.relativize(path);
+                        for (Path segment : relative) {
+                            if (EXCLUDED_DIRECTORIES.contains(segment.toString())) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    })
+                    .toList();
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to list sources of " + root, e);
+        }
+    }
+}
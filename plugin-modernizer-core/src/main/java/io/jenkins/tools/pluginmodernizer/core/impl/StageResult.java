@@ -0,0 +1,22 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+/**
+ * Outcome of a processing stage for a plugin
+ */
+enum StageResult {
+
+    /**
+     * The plugin continues to the next stage
+     */
+    CONTINUE,
+
+    /**
+     * No further stage is needed. Modernization metadata can still be collected
+     */
+    DONE,
+
+    /**
+     * The plugin was skipped before any processing. Nothing else must be done
+     */
+    SKIPPED
+}
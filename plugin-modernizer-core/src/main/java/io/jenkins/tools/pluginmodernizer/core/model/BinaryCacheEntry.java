@@ -0,0 +1,23 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import java.io.IOException;
+
+/**
+ * A cache entry that can also be stored in the compact binary cache format, next to its JSON file.
+ * Implementations must have a public constructor taking the cache manager
+ */
+public interface BinaryCacheEntry {
+
+    /**
+     * Write the data of the entry. Key, path, validity key and validators are written by the cache manager
+     * @param writer The writer
+     * @throws IOException If the data can't be written
+     */
+    void writeBinary(BinaryCacheWriter writer) throws IOException;
+
+    /**
+     * Read the data of the entry in the same order it was written
+     * @param reader The reader
+     */
+    void readBinary(BinaryCacheReader reader);
+}
@@ -0,0 +1,94 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read the binary cache format written by {@link BinaryCacheWriter} from a buffer, usually a memory-mapped file.
+ * Repeated strings are read once and shared.
+ * Malformed data is reported by {@link IllegalStateException} or {@link java.nio.BufferUnderflowException}
+ */
+public final class BinaryCacheReader {
+
+    /**
+     * The buffer
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Already read strings by index
+     */
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * Create a new reader and check the header
+     * @param buffer The buffer
+     */
+    public BinaryCacheReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt() != BinaryCacheWriter.MAGIC) {
+            throw new IllegalStateException("Not a binary cache entry");
+        }
+        int version = buffer.getInt();
+        if (version != BinaryCacheWriter.VERSION) {
+            throw new IllegalStateException("Unsupported binary cache version " + version);
+        }
+    }
+
+    /**
+     * Read a positive number written by {@link BinaryCacheWriter#writeVarInt(int)}
+     * @return The number
+     */
+    public int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed number at " + buffer.position());
+    }
+
+    /**
+     * Read the size of a collection or map
+     * @return The size or -1 if the collection is null
+     */
+    public int readSize() {
+        return readVarInt() - 1;
+    }
+
+    /**
+     * Read a nullable integer
+     * @return The integer or null
+     */
+    public Integer readInteger() {
+        return buffer.get() != 0 ? buffer.getInt() : null;
+    }
+
+    /**
+     * Read a nullable string
+     * @return The string or null
+     */
+    public String readString() {
+        int code = readVarInt();
+        if (code == 0) {
+            return null;
+        }
+        if ((code & 1) == 1) {
+            int index = code >>> 1;
+            if (index >= strings.size()) {
+                throw new IllegalStateException("Unknown string reference " + index);
+            }
+            return strings.get(index);
+        }
+        byte[] bytes = new byte[(code >>> 1) - 1];
+        buffer.get(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+}
@@ -0,0 +1,111 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Write the binary cache format.
+ * Values are length-prefixed and strings are interned: a string is written once and later occurrences
+ * are written as the index of the first one.
+ */
+public final class BinaryCacheWriter implements AutoCloseable {
+
+    /**
+     * Magic number at the start of binary cache files
+     */
+    public static final int MAGIC = 0x504d4243;
+
+    /**
+     * Version of the format
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * The output
+     */
+    private final DataOutputStream output;
+
+    /**
+     * Index of the already written strings
+     */
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    /**
+     * Create a new writer and write the header
+     * @param output The output. Should be buffered
+     * @throws IOException If the header can't be written
+     */
+    public BinaryCacheWriter(OutputStream output) throws IOException {
+        this.output = new DataOutputStream(output);
+        this.output.writeInt(MAGIC);
+        this.output.writeInt(VERSION);
+    }
+
+    /**
+     * Write a positive number on 1 to 5 bytes
+     * @param value The number
+     * @throws IOException If the number can't be written
+     */
+    public void writeVarInt(int value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value " + value);
+        }
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * Write the size of a collection or map
+     * @param size The size or -1 if the collection is null
+     * @throws IOException If the size can't be written
+     */
+    public void writeSize(int size) throws IOException {
+        writeVarInt(size + 1);
+    }
+
+    /**
+     * Write a nullable integer
+     * @param value The integer or null
+     * @throws IOException If the integer can't be written
+     */
+    public void writeInteger(Integer value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeInt(value);
+        }
+    }
+
+    /**
+     * Write a nullable string. Code 0 is null, odd codes reference a previous string
+     * and even codes are the length of a new string followed by its UTF-8 bytes
+     * @param value The string or null
+     * @throws IOException If the string can't be written
+     */
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarInt(index * 2 + 1);
+            return;
+        }
+        strings.put(value, strings.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt((bytes.length + 1) * 2);
+        output.write(bytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
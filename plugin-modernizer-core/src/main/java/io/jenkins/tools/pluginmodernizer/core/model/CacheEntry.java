@@ -20,6 +20,21 @@ public abstract class CacheEntry<T extends CacheEntry<T>> {
      */
     private String path;
 
+    /**
+     * Key identifying the source the object was computed from. Null if unknown
+     */
+    private String validityKey;
+
+    /**
+     * ETag of the remote resource the object was downloaded from. Null if unknown
+     */
+    private String etag;
+
+    /**
+     * Last-Modified date of the remote resource the object was downloaded from. Null if unknown
+     */
+    private String lastModified;
+
     /**
      * Cache manager
      */
@@ -69,6 +84,54 @@ public abstract class CacheEntry<T extends CacheEntry<T>> {
         return Path.of(path);
     }
 
+    /**
+     * Return the key identifying the source the object was computed from
+     * @return The validity key or null if unknown
+     */
+    public final String getValidityKey() {
+        return validityKey;
+    }
+
+    /**
+     * Set the key identifying the source the object was computed from
+     * @param validityKey The validity key or null if unknown
+     */
+    public void setValidityKey(String validityKey) {
+        this.validityKey = validityKey;
+    }
+
+    /**
+     * Return the ETag of the remote resource the object was downloaded from
+     * @return The ETag or null if unknown
+     */
+    public final String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Set the ETag of the remote resource the object was downloaded from
+     * @param etag The ETag or null if unknown
+     */
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    /**
+     * Return the Last-Modified date of the remote resource the object was downloaded from
+     * @return The date or null if unknown
+     */
+    public final String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Set the Last-Modified date of the remote resource the object was downloaded from
+     * @param lastModified The date or null if unknown
+     */
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
     /**
      * Return the cache manager
      * @return The cache manager
@@ -197,6 +260,12 @@ public abstract class CacheEntry<T extends CacheEntry<T>> {
         return cacheManager.getLocation().resolve(path).resolve(key);
     }
 
+    /**
+     * Make the data of this object read-only, for example before sharing it between threads.
+     * Nothing to do by default
+     */
+    public void makeReadOnly() {}
+
     /**
      * Return this object to JSON
      * @return The JSON string
@@ -3,6 +3,7 @@ package io.jenkins.tools.pluginmodernizer.core.model;
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
 import java.io.Serializable;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -29,6 +30,13 @@ public class HealthScoreData extends CacheEntry<HealthScoreData> {
         return plugins;
     }
 
+    @Override
+    public void makeReadOnly() {
+        if (plugins != null) {
+            plugins = Collections.unmodifiableMap(plugins);
+        }
+    }
+
     /**
      * A health score plugin record with what we need
      */
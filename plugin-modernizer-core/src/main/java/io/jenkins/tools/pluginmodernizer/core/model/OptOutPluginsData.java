@@ -2,6 +2,7 @@ package io.jenkins.tools.pluginmodernizer.core.model;
 
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -25,4 +26,11 @@ public class OptOutPluginsData extends CacheEntry<OptOutPluginsData> {
     public List<String> getOptedOutPlugins() {
         return opted_out_plugins;
     }
+
+    @Override
+    public void makeReadOnly() {
+        if (opted_out_plugins != null) {
+            opted_out_plugins = Collections.unmodifiableList(opted_out_plugins);
+        }
+    }
 }
@@ -108,6 +108,11 @@ public class Plugin {
      */
     private boolean hasCommits;
 
+    /**
+     * Flag to indicate if the default branch of the plugin moved since the last fetch
+     */
+    private boolean hasUpstreamChanges = true;
+
     /**
      * Flag to indicate if the plugin has any changes pushed and ready to be merged
      */
@@ -249,6 +254,24 @@ public class Plugin {
         return this;
     }
 
+    /**
+     * Indicate that the default branch of the plugin moved since the last fetch
+     * @return Plugin object
+     */
+    public Plugin withUpstreamChanges() {
+        this.hasUpstreamChanges = true;
+        return this;
+    }
+
+    /**
+     * Indicate that the default branch of the plugin didn't move since the last fetch
+     * @return Plugin object
+     */
+    public Plugin withoutUpstreamChanges() {
+        this.hasUpstreamChanges = false;
+        return this;
+    }
+
     /**
      * Indicate that the plugin has changes pushed and ready to be merged
      * @return Plugin object
@@ -293,6 +316,16 @@ public class Plugin {
         return hasCommits;
     }
 
+    /**
+     * Return if the default branch of the plugin moved since the last fetch. Always true for new clones.
+     * Stages don't need to check it: an unchanged plugin keeps the same HEAD commit, so its metadata
+     * cached for that commit is reused anyway
+     * @return True if the plugin has upstream changes
+     */
+    public boolean hasUpstreamChanges() {
+        return hasUpstreamChanges;
+    }
+
     /**
      * Return if the plugin has any changes pushed and ready to be merged
      * @return True if the plugin has changes pushed
@@ -504,6 +537,14 @@ public class Plugin {
         errors.clear();
     }
 
+    /**
+     * Remove the errors added after the given number of errors, for example by a failed attempt that is retried
+     * @param count The number of errors to keep
+     */
+    public void removeErrorsAfter(int count) {
+        errors.subList(count, errors.size()).clear();
+    }
+
     /**
      * Add a tag to the plugin
      * @param tag Tag to add
@@ -613,6 +654,15 @@ public class Plugin {
         return service.getDiffStats(this, dryRun);
     }
 
+    /**
+     * Get the key identifying the checked out sources of the plugin
+     * @param service The GitHub service
+     * @return The source key or null if it can't be computed
+     */
+    public String getSourceKey(GHService service) {
+        return service.getSourceKey(this);
+    }
+
     /**
      * Get the path of the JDK directory
      * @return Path of the JDK directory
@@ -784,6 +834,8 @@ public class Plugin {
 
         if (!pluginMetadata.getErrors().isEmpty()) {
             LOG.debug("Precondition errors found for plugin {}", name);
+            // Run any pending clean before writing to the target directory
+            maven.flush(this);
             pluginMetadata.save();
             return;
         }
@@ -1065,7 +1117,17 @@ public class Plugin {
      * @param cacheManager The cache manager
      */
     public void loadMetadata(CacheManager cacheManager) {
-        setMetadata(cacheManager.get(Path.of(getName()), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class));
+        loadMetadata(cacheManager, null);
+    }
+
+    /**
+     * Load metadata from cache if still valid for the given source key
+     * @param cacheManager The cache manager
+     * @param sourceKey The key of the checked out sources or null to rely on expiration only
+     */
+    public void loadMetadata(CacheManager cacheManager, String sourceKey) {
+        setMetadata(cacheManager.get(
+                Path.of(getName()), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class, sourceKey));
     }
 
     /**
@@ -1089,12 +1151,51 @@ public class Plugin {
      * @param cacheManager The cache manager
      */
     public void copyMetadata(CacheManager cacheManager) {
+        copyMetadata(cacheManager, null);
+    }
+
+    /**
+     * Copy metadata from plugin target directory to cache and stamp it with the key of its sources
+     * @param cacheManager The cache manager
+     * @param sourceKey The key of the sources or null if unknown
+     */
+    public void copyMetadata(CacheManager cacheManager, String sourceKey) {
+        copyMetadata(cacheManager, CacheManager.PLUGIN_METADATA_CACHE_KEY, sourceKey);
+    }
+
+    /**
+     * Copy metadata collected after modernization from plugin target directory to cache.
+     * It's kept apart so it never replaces the metadata of the checked out sources
+     * @param cacheManager The cache manager
+     */
+    public void copyModernizedMetadata(CacheManager cacheManager) {
+        copyMetadata(cacheManager, CacheManager.MODERNIZED_PLUGIN_METADATA_CACHE_KEY, null);
+    }
+
+    /**
+     * Load metadata collected after modernization from cache if available
+     * @param cacheManager The cache manager
+     */
+    public void loadModernizedMetadata(CacheManager cacheManager) {
+        PluginMetadata modernizedMetadata = cacheManager.get(
+                Path.of(getName()), CacheManager.MODERNIZED_PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+        if (modernizedMetadata != null) {
+            setMetadata(modernizedMetadata);
+        }
+    }
+
+    /**
+     * Copy metadata from plugin target directory to the given key of the cache
+     * @param cacheManager The cache manager
+     * @param cacheKey The key of the cache entry
+     * @param sourceKey The key of the sources or null if unknown
+     */
+    private void copyMetadata(CacheManager cacheManager, String cacheKey, String sourceKey) {
         CacheManager pluginCacheManager = buildPluginTargetDirectoryCacheManager();
         setMetadata(pluginCacheManager.copy(
-                cacheManager,
-                Path.of(getName()),
-                CacheManager.PLUGIN_METADATA_CACHE_KEY,
-                new PluginMetadata(pluginCacheManager)));
+                cacheManager, Path.of(getName()), cacheKey, new PluginMetadata(pluginCacheManager)));
+        getMetadata().setValidityKey(sourceKey);
+        getMetadata().save();
         LOG.debug(
                 "Copied plugin {} metadata to cache: {}",
                 getName(),
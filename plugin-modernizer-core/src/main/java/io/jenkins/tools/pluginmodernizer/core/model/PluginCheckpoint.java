@@ -0,0 +1,99 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Last completed processing stage of a plugin for a recipe. Used to resume an interrupted run
+ */
+public class PluginCheckpoint extends CacheEntry<PluginCheckpoint> {
+
+    /**
+     * Stages recorded in the checkpoint, in processing order
+     */
+    public enum Stage {
+        FETCHED,
+        METADATA,
+        REWRITTEN,
+        VERIFIED,
+        PUSHED,
+        PR_OPENED
+    }
+
+    /**
+     * Name of the recipe the checkpoint belongs to
+     */
+    private String recipe;
+
+    /**
+     * Last completed stage or null if none
+     */
+    private Stage stage;
+
+    /**
+     * Files modified by the recipe once changes are committed
+     */
+    private Set<String> modifiedFiles = new TreeSet<>();
+
+    /**
+     * Create a new checkpoint stored in the plugin subdirectory of the given cache manager
+     * @param cacheManager The cache manager
+     * @param plugin The plugin
+     * @param recipe The recipe name
+     */
+    public PluginCheckpoint(CacheManager cacheManager, Plugin plugin, String recipe) {
+        super(cacheManager, PluginCheckpoint.class, CacheManager.CHECKPOINT_CACHE_KEY, Path.of(plugin.getName()));
+        this.recipe = recipe;
+    }
+
+    /**
+     * Get the recipe name
+     * @return The recipe name
+     */
+    public String getRecipe() {
+        return recipe;
+    }
+
+    /**
+     * Get the last completed stage
+     * @return The stage or null if none
+     */
+    public Stage getStage() {
+        return stage;
+    }
+
+    /**
+     * Return if the given stage was already completed
+     * @param stage The stage
+     * @return True if the stage or a later one was completed
+     */
+    public boolean isReached(Stage stage) {
+        return this.stage != null && this.stage.compareTo(stage) >= 0;
+    }
+
+    /**
+     * Set the last completed stage
+     * @param stage The stage
+     */
+    public void setStage(Stage stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * Get the files modified by the recipe
+     * @return The modified files
+     */
+    public Set<String> getModifiedFiles() {
+        return modifiedFiles == null ? Set.of() : modifiedFiles;
+    }
+
+    /**
+     * Set the files modified by the recipe
+     * @param modifiedFiles The modified files
+     */
+    public void setModifiedFiles(Set<String> modifiedFiles) {
+        this.modifiedFiles = new TreeSet<>(modifiedFiles);
+    }
+}
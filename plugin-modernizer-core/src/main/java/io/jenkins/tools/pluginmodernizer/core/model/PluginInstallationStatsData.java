@@ -1,10 +1,14 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
-public class PluginInstallationStatsData extends CacheEntry<PluginInstallationStatsData> {
+public class PluginInstallationStatsData extends CacheEntry<PluginInstallationStatsData>
+        implements BinaryCacheEntry {
 
     /**
      * Plugins in the installation stats mapped by their name
@@ -22,4 +26,31 @@ public class PluginInstallationStatsData extends CacheEntry<PluginInstallationSt
     public void setPlugins(Map<String, Integer> plugins) {
         this.plugins = plugins;
     }
+
+    @Override
+    public void makeReadOnly() {
+        if (plugins != null) {
+            plugins = Collections.unmodifiableMap(plugins);
+        }
+    }
+
+    @Override
+    public void writeBinary(BinaryCacheWriter writer) throws IOException {
+        writer.writeSize(plugins == null ? -1 : plugins.size());
+        if (plugins != null) {
+            for (Map.Entry<String, Integer> entry : plugins.entrySet()) {
+                writer.writeString(entry.getKey());
+                writer.writeInteger(entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void readBinary(BinaryCacheReader reader) {
+        int size = reader.readSize();
+        plugins = size < 0 ? null : HashMap.newHashMap(size);
+        for (int i = 0; i < size; i++) {
+            plugins.put(reader.readString(), reader.readInteger());
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import java.io.IOException;
 import java.io.Serializable;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -10,7 +13,7 @@ import java.util.Map;
  * We are storing only the data we are interested in (like plugins).
  * Further implementation can consider ignoring plugin with deprecation
  */
-public class PluginVersionData extends CacheEntry<PluginVersionData> {
+public class PluginVersionData extends CacheEntry<PluginVersionData> implements BinaryCacheEntry {
 
     /**
      * Plugins in the update center mapped by their name
@@ -29,6 +32,50 @@ public class PluginVersionData extends CacheEntry<PluginVersionData> {
         return plugins;
     }
 
+    @Override
+    public void makeReadOnly() {
+        if (plugins != null) {
+            Map<String, Map<String, PluginVersionPlugin>> readOnly = HashMap.newHashMap(plugins.size());
+            plugins.forEach((name, versions) -> readOnly.put(name, Collections.unmodifiableMap(versions)));
+            plugins = Collections.unmodifiableMap(readOnly);
+        }
+    }
+
+    @Override
+    public void writeBinary(BinaryCacheWriter writer) throws IOException {
+        writer.writeSize(plugins == null ? -1 : plugins.size());
+        if (plugins == null) {
+            return;
+        }
+        for (Map.Entry<String, Map<String, PluginVersionPlugin>> entry : plugins.entrySet()) {
+            writer.writeString(entry.getKey());
+            Map<String, PluginVersionPlugin> versions = entry.getValue();
+            writer.writeSize(versions == null ? -1 : versions.size());
+            if (versions != null) {
+                for (Map.Entry<String, PluginVersionPlugin> version : versions.entrySet()) {
+                    writer.writeString(version.getKey());
+                    writer.writeString(version.getValue().name());
+                    writer.writeString(version.getValue().version());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void readBinary(BinaryCacheReader reader) {
+        int size = reader.readSize();
+        plugins = size < 0 ? null : HashMap.newHashMap(size);
+        for (int i = 0; i < size; i++) {
+            String name = reader.readString();
+            int versionCount = reader.readSize();
+            Map<String, PluginVersionPlugin> versions = versionCount < 0 ? null : HashMap.newHashMap(versionCount);
+            for (int j = 0; j < versionCount; j++) {
+                versions.put(reader.readString(), new PluginVersionPlugin(reader.readString(), reader.readString()));
+            }
+            plugins.put(name, versions);
+        }
+    }
+
     /**
      * An update center plugin record with what we need
      * @param name Plugin name
@@ -1,8 +1,12 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Our own representation of a recipe.
@@ -29,6 +33,65 @@ public class Recipe implements Comparable<Recipe> {
      */
     private Set<String> tags;
 
+    /**
+     * Recipes applied in a single pass by a campaign, in order. Null for a single recipe.
+     */
+    @JsonIgnore
+    private List<Recipe> recipes;
+
+    /**
+     * Create a campaign applying several recipes in a single rewrite pass, in the given order.
+     * Verification is skipped only if all recipes skip it.
+     * @param recipes The recipes
+     * @return The campaign or the recipe itself if there is only one
+     */
+    public static Recipe campaign(List<Recipe> recipes) {
+        if (recipes.size() == 1) {
+            return recipes.get(0);
+        }
+        Recipe campaign = new Recipe();
+        campaign.recipes = List.copyOf(recipes);
+        campaign.setName(Settings.RECIPE_FQDN_PREFIX + "."
+                + recipes.stream().map(Recipe::getShortName).collect(Collectors.joining("-")));
+        campaign.setDisplayName(recipes.stream().map(Recipe::getDisplayName).collect(Collectors.joining(", ")));
+        campaign.setDescription(
+                recipes.stream().map(Recipe::getDescription).collect(Collectors.joining(" ")));
+        Set<String> tags = new LinkedHashSet<>();
+        recipes.stream().map(Recipe::getTags).filter(Objects::nonNull).forEach(tags::addAll);
+        if (!recipes.stream().allMatch(Recipe::isSkipVerification)) {
+            tags.remove("skip-verification");
+        }
+        campaign.setTags(tags);
+        return campaign;
+    }
+
+    /**
+     * Return if this recipe is a campaign of several recipes
+     * @return True if it's a campaign
+     */
+    @JsonIgnore
+    public boolean isCampaign() {
+        return recipes != null;
+    }
+
+    /**
+     * Get the recipes to apply. The recipes of a campaign or this recipe
+     * @return The recipes to apply in order
+     */
+    @JsonIgnore
+    public List<Recipe> getRecipes() {
+        return recipes == null ? List.of(this) : recipes;
+    }
+
+    /**
+     * Get the name without the modernizer prefix
+     * @return The short name
+     */
+    @JsonIgnore
+    public String getShortName() {
+        return name.replaceAll(Settings.RECIPE_FQDN_PREFIX + ".", "");
+    }
+
     /**
      * Return if the execution the recipe will be skipped
      * @return True if the recipe will skip verification
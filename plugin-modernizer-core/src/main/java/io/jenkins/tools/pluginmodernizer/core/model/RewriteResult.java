@@ -0,0 +1,145 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Files changed by a recipe run on a given source tree. Reused to skip parsing when the same recipe runs again
+ * on an unchanged plugin with the same JDK and the same remote datasets
+ */
+public class RewriteResult extends CacheEntry<RewriteResult> {
+
+    /**
+     * Git tree id of the sources the recipe ran on
+     */
+    private String treeId;
+
+    /**
+     * Major version of the JDK used to parse the sources
+     */
+    private int jdk;
+
+    /**
+     * Name of the recipe
+     */
+    private String recipe;
+
+    /**
+     * Version of the modernizer that produced the result
+     */
+    private String version;
+
+    /**
+     * Validators of the remote datasets the recipes read when the result was produced
+     */
+    private String remoteKey;
+
+    /**
+     * Changed files
+     */
+    private List<FileChange> changes = new ArrayList<>();
+
+    /**
+     * Create a new rewrite result stored in the plugin subdirectory of the given cache manager
+     * @param cacheManager The cache manager
+     * @param plugin The plugin
+     */
+    public RewriteResult(CacheManager cacheManager, Plugin plugin) {
+        super(cacheManager, RewriteResult.class, CacheManager.REWRITE_RESULT_CACHE_KEY, Path.of(plugin.getName()));
+    }
+
+    /**
+     * Return if this result was produced for the given inputs
+     * @param treeId The git tree id
+     * @param jdk The JDK major version
+     * @param recipe The recipe name
+     * @param version The modernizer version
+     * @param remoteKey The validators of the remote datasets
+     * @return True if the result can be reused
+     */
+    public boolean matches(String treeId, int jdk, String recipe, String version, String remoteKey) {
+        return Objects.equals(this.treeId, treeId)
+                && this.jdk == jdk
+                && Objects.equals(this.recipe, recipe)
+                && Objects.equals(this.version, version)
+                && Objects.equals(this.remoteKey, remoteKey);
+    }
+
+    /**
+     * Set the inputs this result was produced for
+     * @param treeId The git tree id
+     * @param jdk The JDK major version
+     * @param recipe The recipe name
+     * @param version The modernizer version
+     * @param remoteKey The validators of the remote datasets
+     */
+    public void setInputs(String treeId, int jdk, String recipe, String version, String remoteKey) {
+        this.treeId = treeId;
+        this.jdk = jdk;
+        this.recipe = recipe;
+        this.version = version;
+        this.remoteKey = remoteKey;
+    }
+
+    /**
+     * Get the changed files
+     * @return The changed files
+     */
+    public List<FileChange> getChanges() {
+        return changes == null ? List.of() : changes;
+    }
+
+    /**
+     * Set the changed files
+     * @param changes The changed files
+     */
+    public void setChanges(List<FileChange> changes) {
+        this.changes = new ArrayList<>(changes);
+    }
+
+    /**
+     * A file written or deleted by a recipe
+     */
+    public static class FileChange {
+
+        /**
+         * Path relative to the plugin local repository
+         */
+        private String path;
+
+        /**
+         * Content of the file or null if deleted
+         */
+        private String content;
+
+        /**
+         * Charset of the content
+         */
+        private String charset;
+
+        public FileChange(String path, String content, String charset) {
+            this.path = path;
+            this.content = content;
+            this.charset = charset;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public String getCharset() {
+            return charset;
+        }
+
+        public boolean isDeleted() {
+            return content == null;
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import java.io.IOException;
 import java.io.Serializable;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -11,7 +17,7 @@ import java.util.Map;
  * We are storing only the data we are interested in (like plugins).
  * Further implementation can consider ignoring plugin with deprecation
  */
-public class UpdateCenterData extends CacheEntry<UpdateCenterData> {
+public class UpdateCenterData extends CacheEntry<UpdateCenterData> implements BinaryCacheEntry {
 
     /**
      * Plugins in the update center mapped by their name
@@ -43,6 +49,186 @@ public class UpdateCenterData extends CacheEntry<UpdateCenterData> {
         return deprecations;
     }
 
+    @Override
+    public void makeReadOnly() {
+        if (plugins != null) {
+            plugins = Collections.unmodifiableMap(plugins);
+        }
+        if (deprecations != null) {
+            deprecations = Collections.unmodifiableMap(deprecations);
+        }
+    }
+
+    @Override
+    public void writeBinary(BinaryCacheWriter writer) throws IOException {
+        writer.writeSize(plugins == null ? -1 : plugins.size());
+        if (plugins != null) {
+            for (Map.Entry<String, UpdateCenterPlugin> entry : plugins.entrySet()) {
+                UpdateCenterPlugin plugin = entry.getValue();
+                writer.writeString(entry.getKey());
+                writer.writeString(plugin.name());
+                writer.writeString(plugin.version());
+                writer.writeString(plugin.scm());
+                writer.writeString(plugin.defaultBranch());
+                writer.writeString(plugin.gav());
+                writer.writeSize(plugin.labels() == null ? -1 : plugin.labels().size());
+                if (plugin.labels() != null) {
+                    for (String label : plugin.labels()) {
+                        writer.writeString(label);
+                    }
+                }
+            }
+        }
+        writer.writeSize(deprecations == null ? -1 : deprecations.size());
+        if (deprecations != null) {
+            for (Map.Entry<String, DeprecatedPlugin> entry : deprecations.entrySet()) {
+                writer.writeString(entry.getKey());
+                writer.writeString(entry.getValue().url());
+            }
+        }
+    }
+
+    @Override
+    public void readBinary(BinaryCacheReader reader) {
+        int size = reader.readSize();
+        plugins = size < 0 ? null : HashMap.newHashMap(size);
+        for (int i = 0; i < size; i++) {
+            String key = reader.readString();
+            String name = reader.readString();
+            String version = reader.readString();
+            String scm = reader.readString();
+            String defaultBranch = reader.readString();
+            String gav = reader.readString();
+            int labelCount = reader.readSize();
+            List<String> labels = labelCount < 0 ? null : new ArrayList<>(labelCount);
+            for (int j = 0; j < labelCount; j++) {
+                labels.add(reader.readString());
+            }
+            plugins.put(key, new UpdateCenterPlugin(name, version, scm, defaultBranch, gav, labels));
+        }
+        size = reader.readSize();
+        deprecations = size < 0 ? null : HashMap.newHashMap(size);
+        for (int i = 0; i < size; i++) {
+            deprecations.put(reader.readString(), new DeprecatedPlugin(reader.readString()));
+        }
+    }
+
+    /**
+     * Read the update center from a JSON stream keeping only the fields of the records.
+     * Other values (core, warnings, dependencies, developers, etc.) are skipped without being materialized
+     * @param reader The JSON reader positioned before the update center object
+     * @param cacheManager The cache manager
+     * @return Update center data
+     * @throws IOException If the stream can't be read or is malformed
+     */
+    public static UpdateCenterData read(JsonReader reader, CacheManager cacheManager) throws IOException {
+        UpdateCenterData data = new UpdateCenterData(cacheManager);
+        data.plugins = new HashMap<>();
+        data.deprecations = new HashMap<>();
+        // Labels are shared by many plugins
+        Map<String, String> labels = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "plugins" -> {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextName();
+                        data.plugins.put(name, readPlugin(reader, labels));
+                    }
+                    reader.endObject();
+                }
+                case "deprecations" -> {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextName();
+                        data.deprecations.put(name, readDeprecation(reader));
+                    }
+                    reader.endObject();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return data;
+    }
+
+    /**
+     * Read a plugin of the update center
+     * @param reader The JSON reader positioned before the plugin object
+     * @param labels Already read labels
+     * @return The plugin
+     * @throws IOException If the stream can't be read or is malformed
+     */
+    private static UpdateCenterPlugin readPlugin(JsonReader reader, Map<String, String> labels) throws IOException {
+        String name = null;
+        String version = null;
+        String scm = null;
+        String defaultBranch = null;
+        String gav = null;
+        List<String> pluginLabels = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name" -> name = nextString(reader);
+                case "version" -> version = nextString(reader);
+                case "scm" -> scm = nextString(reader);
+                case "defaultBranch" -> defaultBranch = nextString(reader);
+                case "gav" -> gav = nextString(reader);
+                case "labels" -> {
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        break;
+                    }
+                    pluginLabels = new ArrayList<>();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        String label = nextString(reader);
+                        pluginLabels.add(label == null ? null : labels.computeIfAbsent(label, l -> l));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new UpdateCenterPlugin(name, version, scm, defaultBranch, gav, pluginLabels);
+    }
+
+    /**
+     * Read a deprecation of the update center
+     * @param reader The JSON reader positioned before the deprecation object
+     * @return The deprecation
+     * @throws IOException If the stream can't be read or is malformed
+     */
+    private static DeprecatedPlugin readDeprecation(JsonReader reader) throws IOException {
+        String url = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("url".equals(reader.nextName())) {
+                url = nextString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new DeprecatedPlugin(url);
+    }
+
+    /**
+     * Read a nullable string value
+     * @param reader The JSON reader
+     * @return The string or null
+     * @throws IOException If the stream can't be read or is malformed
+     */
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
     /**
      * An update center plugin record with what we need
      * @param name Plugin name
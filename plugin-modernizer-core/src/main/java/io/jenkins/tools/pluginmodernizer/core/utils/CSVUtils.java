@@ -1,15 +1,13 @@
 package io.jenkins.tools.pluginmodernizer.core.utils;
 
-import com.google.gson.JsonSyntaxException;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
-import java.io.IOException;
-import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,23 +25,41 @@ public class CSVUtils {
      * @return The object
      */
     public static String fromUrl(URL url) {
-        try {
-            HttpClient client = HttpClient.newBuilder()
-                    .followRedirects(HttpClient.Redirect.NORMAL)
-                    .build();
-            HttpRequest request =
-                    HttpRequest.newBuilder().GET().uri(url.toURI()).build();
-            LOG.debug("Fetching data from: {}", url);
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                throw new ModernizerException(
-                        "Failed to get CSV data. Received response code: " + response.statusCode() + " from " + url);
-            }
-            LOG.debug("Fetched data from: {}", url);
-            return response.body();
-        } catch (IOException | JsonSyntaxException | URISyntaxException | InterruptedException e) {
-            throw new ModernizerException("Unable to fetch data from " + url, e);
+        return getBody(url, HttpUtils.get(url, null, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    /**
+     * Download CSV data from a URL and convert it to a cache entry, unless the cached entry is not modified
+     * @param url The URL to download from
+     * @param cached The cached entry to revalidate or null
+     * @param converter Convert the CSV data to the entry
+     * @return The cached entry if not modified, otherwise the downloaded entry
+     * @param <T> The type of the entry
+     */
+    public static <T extends CacheEntry<T>> T fromUrl(URL url, @Nullable T cached, Function<String, T> converter) {
+        HttpResponse<String> response = HttpUtils.get(url, cached, HttpResponse.BodyHandlers.ofString());
+        if (cached != null && response.statusCode() == HttpUtils.NOT_MODIFIED) {
+            LOG.debug("Not modified: {}", url);
+            return cached;
+        }
+        T result = converter.apply(getBody(url, response));
+        HttpUtils.setValidators(result, response);
+        return result;
+    }
+
+    /**
+     * Get the body of a successful response
+     * @param url The URL of the response
+     * @param response The response
+     * @return The CSV data
+     */
+    private static String getBody(URL url, HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new ModernizerException(
+                    "Failed to get CSV data. Received response code: " + response.statusCode() + " from " + url);
         }
+        LOG.debug("Fetched data from: {}", url);
+        return response.body();
     }
 
     /**
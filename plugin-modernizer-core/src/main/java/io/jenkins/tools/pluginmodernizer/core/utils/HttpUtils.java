@@ -0,0 +1,76 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class HttpUtils {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpUtils.class);
+
+    /**
+     * Status code of a conditional request when the resource is not modified
+     */
+    public static final int NOT_MODIFIED = 304;
+
+    /**
+     * HTTP client shared by the downloads of remote datasets. Concurrent requests to the same host
+     * are multiplexed on a single HTTP/2 connection
+     */
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private HttpUtils() {
+        // Hide constructor
+    }
+
+    /**
+     * Send a GET request with the shared HTTP client.
+     * When a cached entry is given, the request is conditional on its validators and
+     * the server answers {@link #NOT_MODIFIED} without body if the entry is still current
+     * @param url The URL to download from
+     * @param cached The cached entry to revalidate or null
+     * @param bodyHandler The body handler
+     * @return The response
+     * @param <T> The type of the body
+     */
+    public static <T> HttpResponse<T> get(
+            URL url, @Nullable CacheEntry<?> cached, HttpResponse.BodyHandler<T> bodyHandler) {
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder().GET().uri(url.toURI());
+            if (cached != null && cached.getEtag() != null) {
+                request.header("If-None-Match", cached.getEtag());
+            }
+            if (cached != null && cached.getLastModified() != null) {
+                request.header("If-Modified-Since", cached.getLastModified());
+            }
+            LOG.debug("Fetching data from: {}", url);
+            return CLIENT.send(request.build(), bodyHandler);
+        } catch (IOException | URISyntaxException e) {
+            throw new ModernizerException("Unable to fetch data from " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModernizerException("Unable to fetch data from " + url, e);
+        }
+    }
+
+    /**
+     * Store the validators of a response on the entry created from it
+     * @param entry The entry
+     * @param response The response
+     */
+    public static void setValidators(CacheEntry<?> entry, HttpResponse<?> response) {
+        entry.setEtag(response.headers().firstValue("ETag").orElse(null));
+        entry.setLastModified(response.headers().firstValue("Last-Modified").orElse(null));
+    }
+}
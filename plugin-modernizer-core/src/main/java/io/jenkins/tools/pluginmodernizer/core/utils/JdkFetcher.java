@@ -51,7 +51,7 @@ public class JdkFetcher {
      * @throws IOException          If an I/O error occurs.
      * @throws InterruptedException If the operation is interrupted.
      */
-    public Path getJdkPath(int jdkVersion) throws IOException, InterruptedException {
+    public synchronized Path getJdkPath(int jdkVersion) throws IOException, InterruptedException {
         Path jdkPath = getJdkDirectoryPath(jdkVersion);
         if (Files.notExists(jdkPath)) {
             downloadAndSetupJdk(jdkVersion, jdkPath);
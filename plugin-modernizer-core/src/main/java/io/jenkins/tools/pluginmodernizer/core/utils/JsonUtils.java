@@ -7,14 +7,16 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import java.io.IOException;
-import java.net.URISyntaxException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URL;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -180,25 +182,93 @@ public class JsonUtils {
      * @param <T> The type of the object
      */
     public static <T> T fromUrl(URL url, Class<T> clazz) {
-        try {
-            HttpClient client = HttpClient.newBuilder()
-                    .followRedirects(HttpClient.Redirect.NORMAL)
-                    .build();
-            HttpRequest request =
-                    HttpRequest.newBuilder().GET().uri(url.toURI()).build();
-            LOG.debug("Fetching data from: {}", url);
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return fromUrl(url, reader -> gson.<T>fromJson(reader, clazz));
+    }
+
+    /**
+     * Download JSON data from a URL and parse it while it's received without buffering the whole body
+     * @param url The URL to download from
+     * @param parser The parser reading the object from the stream
+     * @return The object
+     * @param <T> The type of the object
+     */
+    public static <T> T fromUrl(URL url, JsonStreamParser<T> parser) {
+        return parse(url, HttpUtils.get(url, null, HttpResponse.BodyHandlers.ofInputStream()), parser);
+    }
+
+    /**
+     * Download JSON data from a URL and convert it to a cache entry, unless the cached entry is not modified
+     * @param url The URL to download from
+     * @param cached The cached entry to revalidate or null
+     * @param clazz The class of the entry
+     * @return The cached entry if not modified, otherwise the downloaded entry
+     * @param <T> The type of the entry
+     */
+    public static <T extends CacheEntry<T>> T fromUrl(URL url, @Nullable T cached, Class<T> clazz) {
+        return fromUrl(url, cached, reader -> gson.<T>fromJson(reader, clazz));
+    }
+
+    /**
+     * Download JSON data from a URL and parse it to a cache entry, unless the cached entry is not modified
+     * @param url The URL to download from
+     * @param cached The cached entry to revalidate or null
+     * @param parser The parser reading the entry from the stream
+     * @return The cached entry if not modified, otherwise the downloaded entry
+     * @param <T> The type of the entry
+     */
+    public static <T extends CacheEntry<T>> T fromUrl(URL url, @Nullable T cached, JsonStreamParser<T> parser) {
+        HttpResponse<InputStream> response = HttpUtils.get(url, cached, HttpResponse.BodyHandlers.ofInputStream());
+        if (cached != null && response.statusCode() == HttpUtils.NOT_MODIFIED) {
+            try (InputStream body = response.body()) {
+                LOG.debug("Not modified: {}", url);
+            } catch (IOException e) {
+                LOG.debug("Unable to close response of {}", url, e);
+            }
+            return cached;
+        }
+        T result = parse(url, response, parser);
+        HttpUtils.setValidators(result, response);
+        return result;
+    }
+
+    /**
+     * Parse the body of a response
+     * @param url The URL of the response
+     * @param response The response
+     * @param parser The parser reading the object from the stream
+     * @return The object
+     * @param <T> The type of the object
+     */
+    private static <T> T parse(URL url, HttpResponse<InputStream> response, JsonStreamParser<T> parser) {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
             if (response.statusCode() != 200) {
                 throw new ModernizerException(
                         "Failed to get JSON data. Received response code: " + response.statusCode());
             }
+            T result = parser.parse(reader);
             LOG.debug("Fetched data from: {}", url);
-            return JsonUtils.fromJson(response.body(), clazz);
-        } catch (IOException | JsonSyntaxException | URISyntaxException | InterruptedException e) {
+            return result;
+        } catch (IOException | JsonParseException | IllegalStateException e) {
             throw new ModernizerException("Unable to fetch data from " + url, e);
         }
     }
 
+    /**
+     * Parse an object from a JSON stream
+     * @param <T> The type of the object
+     */
+    @FunctionalInterface
+    public interface JsonStreamParser<T> {
+
+        /**
+         * Parse the object
+         * @param reader The JSON reader
+         * @return The object
+         * @throws IOException If the stream can't be read or is malformed
+         */
+        T parse(JsonReader reader) throws IOException;
+    }
+
     /**
      * Merge two JSON arrays
      * @param array1 The first JSON array
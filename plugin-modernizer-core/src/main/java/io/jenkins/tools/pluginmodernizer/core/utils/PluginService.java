@@ -1,9 +1,11 @@
 package io.jenkins.tools.pluginmodernizer.core.utils;
 
+import edu.umd.cs.findbugs.annotations.Nullable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
 import io.jenkins.tools.pluginmodernizer.core.model.HealthScoreData;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.OptOutPluginsData;
@@ -13,9 +15,18 @@ import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
 import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
 import jakarta.inject.Inject;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +43,16 @@ public class PluginService {
     @Inject
     private CacheManager cacheManager;
 
+    /**
+     * In-memory snapshots of the root cache entries by cache key
+     */
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Locks loading a root cache entry at most once at a time
+     */
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
     /**
      * Extract the repository name for a plugin
      * @param plugin Plugin
@@ -165,21 +186,45 @@ public class PluginService {
         return updateCenterPlugin.version();
     }
 
+    /**
+     * Load all remote datasets concurrently, from the cache or downloaded over the shared HTTP client.
+     * Fail as soon as one of them can't be loaded and cancel the others
+     */
+    public void prefetch() {
+        Map<String, Runnable> datasets = new LinkedHashMap<>();
+        datasets.put("update center", this::getUpdateCenterData);
+        datasets.put("plugin versions", this::getPluginVersionData);
+        datasets.put("health score", this::getHealthScoreData);
+        datasets.put("installation stats", this::getPluginInstallationStatsData);
+        datasets.put("opt out plugins", this::getOptOutPluginsData);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+            datasets.forEach((name, dataset) -> completionService.submit(dataset, name));
+            for (int i = 0; i < datasets.size(); i++) {
+                try {
+                    LOG.debug("Loaded {} data", completionService.take().get());
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    if (e.getCause() instanceof ModernizerException modernizerException) {
+                        throw modernizerException;
+                    }
+                    throw new ModernizerException("Unable to load remote data", e.getCause());
+                } catch (InterruptedException e) {
+                    executor.shutdownNow();
+                    Thread.currentThread().interrupt();
+                    throw new ModernizerException("Interrupted while loading remote data", e);
+                }
+            }
+        }
+    }
+
     /**
      * Retrieve update center data from the given URL or from cache if it exists
      * @return Update center data
      */
     public UpdateCenterData getUpdateCenterData() {
-        UpdateCenterData updateCenterData =
-                cacheManager.get(cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class);
-        // Download and update cache
-        if (updateCenterData == null) {
-            updateCenterData = downloadUpdateCenterData();
-            updateCenterData.setKey(CacheManager.UPDATE_CENTER_CACHE_KEY);
-            updateCenterData.setPath(cacheManager.root());
-            cacheManager.put(updateCenterData);
-        }
-        return updateCenterData;
+        return getSnapshot(
+                CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class, this::downloadUpdateCenterData);
     }
 
     /**
@@ -187,16 +232,7 @@ public class PluginService {
      * @return Health score data
      */
     public HealthScoreData getHealthScoreData() {
-        HealthScoreData healthScoreData =
-                cacheManager.get(cacheManager.root(), CacheManager.HEALTH_SCORE_KEY, HealthScoreData.class);
-        // Download and update cache
-        if (healthScoreData == null) {
-            healthScoreData = downloadHealthScoreData();
-            healthScoreData.setKey(CacheManager.HEALTH_SCORE_KEY);
-            healthScoreData.setPath(cacheManager.root());
-            cacheManager.put(healthScoreData);
-        }
-        return healthScoreData;
+        return getSnapshot(CacheManager.HEALTH_SCORE_KEY, HealthScoreData.class, this::downloadHealthScoreData);
     }
 
     /**
@@ -204,16 +240,53 @@ public class PluginService {
      * @return Opt out plugins data
      */
     public OptOutPluginsData getOptOutPluginsData() {
-        OptOutPluginsData optOutPluginsData =
-                cacheManager.get(cacheManager.root(), CacheManager.OPT_OUT_PLUGINS_CACHE_KEY, OptOutPluginsData.class);
-        // Download and update cache
-        if (optOutPluginsData == null) {
-            optOutPluginsData = downloadOptOutPluginsData();
-            optOutPluginsData.setKey(CacheManager.OPT_OUT_PLUGINS_CACHE_KEY);
-            optOutPluginsData.setPath(cacheManager.root());
-            cacheManager.put(optOutPluginsData);
+        return getSnapshot(
+                CacheManager.OPT_OUT_PLUGINS_CACHE_KEY, OptOutPluginsData.class, this::downloadOptOutPluginsData);
+    }
+
+    /**
+     * Get the in-memory snapshot of a root cache entry. The entry is read from the cache or downloaded once
+     * and then shared by all threads until the backing cache entry expires.
+     * An expired entry is revalidated against the remote resource and only touched if not modified.
+     * Snapshots are made read-only before being shared
+     * @param cacheKey The cache key
+     * @param clazz The class of the entry
+     * @param download Download the entry when it's not cached. Given the expired entry to revalidate or null
+     * @return The entry
+     */
+    private <T extends CacheEntry<T>> T getSnapshot(String cacheKey, Class<T> clazz, UnaryOperator<T> download) {
+        Snapshot snapshot = snapshots.get(cacheKey);
+        if (snapshot != null && !cacheManager.isExpired(snapshot.expiration())) {
+            return clazz.cast(snapshot.data());
+        }
+        synchronized (locks.computeIfAbsent(cacheKey, key -> new Object())) {
+            snapshot = snapshots.get(cacheKey);
+            if (snapshot != null && !cacheManager.isExpired(snapshot.expiration())) {
+                return clazz.cast(snapshot.data());
+            }
+            T data = cacheManager.get(cacheManager.root(), cacheKey, clazz);
+            // Download and update cache
+            if (data == null) {
+                T expired = cacheManager.getStale(cacheManager.root(), cacheKey, clazz);
+                data = download.apply(expired);
+                if (expired != null && data == expired) {
+                    LOG.debug("Remote data of {} not modified", cacheKey);
+                    cacheManager.touch(data);
+                } else {
+                    data.setKey(cacheKey);
+                    data.setPath(cacheManager.root());
+                    cacheManager.put(data);
+                }
+            }
+            data.makeReadOnly();
+            Instant expiration = cacheManager.getExpiration(cacheManager.root(), cacheKey);
+            if (expiration != null) {
+                snapshots.put(cacheKey, new Snapshot(data, expiration));
+            } else {
+                snapshots.remove(cacheKey);
+            }
+            return data;
         }
-        return optOutPluginsData;
     }
 
     /**
@@ -221,7 +294,17 @@ public class PluginService {
      * @return Update center data
      */
     public UpdateCenterData downloadUpdateCenterData() {
-        return JsonUtils.fromUrl(config.getJenkinsUpdateCenter(), UpdateCenterData.class);
+        return downloadUpdateCenterData(null);
+    }
+
+    /**
+     * Download refreshed update center data from the remote service unless the expired entry is not modified
+     * @param expired The expired entry to revalidate or null
+     * @return Update center data
+     */
+    public UpdateCenterData downloadUpdateCenterData(@Nullable UpdateCenterData expired) {
+        return JsonUtils.fromUrl(
+                config.getJenkinsUpdateCenter(), expired, reader -> UpdateCenterData.read(reader, cacheManager));
     }
 
     /**
@@ -229,7 +312,16 @@ public class PluginService {
      * @return Health score data
      */
     public HealthScoreData downloadHealthScoreData() {
-        return JsonUtils.fromUrl(config.getPluginHealthScore(), HealthScoreData.class);
+        return downloadHealthScoreData(null);
+    }
+
+    /**
+     * Download refreshed health score data from the remote service unless the expired entry is not modified
+     * @param expired The expired entry to revalidate or null
+     * @return Health score data
+     */
+    public HealthScoreData downloadHealthScoreData(@Nullable HealthScoreData expired) {
+        return JsonUtils.fromUrl(config.getPluginHealthScore(), expired, HealthScoreData.class);
     }
 
     /**
@@ -237,17 +329,36 @@ public class PluginService {
      * @return Opt out plugins data
      */
     public OptOutPluginsData downloadOptOutPluginsData() {
-        return JsonUtils.fromUrl(config.getOptOutPlugins(), OptOutPluginsData.class);
+        return downloadOptOutPluginsData(null);
+    }
+
+    /**
+     * Download refreshed opt out plugins data from the metadata repository unless the expired entry is not modified
+     * @param expired The expired entry to revalidate or null
+     * @return Opt out plugins data
+     */
+    public OptOutPluginsData downloadOptOutPluginsData(@Nullable OptOutPluginsData expired) {
+        return JsonUtils.fromUrl(config.getOptOutPlugins(), expired, OptOutPluginsData.class);
     }
 
     /**
      * Retrieve installation stats data from the given URL
      */
     public PluginInstallationStatsData downloadInstallationStatsData() {
-        String data = CSVUtils.fromUrl(config.getPluginStatsInstallations());
-        PluginInstallationStatsData pluginInstallationStatsData = new PluginInstallationStatsData(cacheManager);
-        pluginInstallationStatsData.setPlugins(CSVUtils.parseStats(data));
-        return pluginInstallationStatsData;
+        return downloadInstallationStatsData(null);
+    }
+
+    /**
+     * Retrieve installation stats data from the given URL unless the expired entry is not modified
+     * @param expired The expired entry to revalidate or null
+     * @return Plugin installation stats data
+     */
+    public PluginInstallationStatsData downloadInstallationStatsData(@Nullable PluginInstallationStatsData expired) {
+        return CSVUtils.fromUrl(config.getPluginStatsInstallations(), expired, data -> {
+            PluginInstallationStatsData pluginInstallationStatsData = new PluginInstallationStatsData(cacheManager);
+            pluginInstallationStatsData.setPlugins(CSVUtils.parseStats(data));
+            return pluginInstallationStatsData;
+        });
     }
 
     /**
@@ -331,16 +442,10 @@ public class PluginService {
      * @return Plugin version data
      */
     public PluginVersionData getPluginVersionData() {
-        PluginVersionData pluginVersionData =
-                cacheManager.get(cacheManager.root(), CacheManager.PLUGIN_VERSIONS_CACHE_KEY, PluginVersionData.class);
-        // Download and update cache
-        if (pluginVersionData == null) {
-            pluginVersionData = downloadPluginVersionData(config);
-            pluginVersionData.setKey(CacheManager.PLUGIN_VERSIONS_CACHE_KEY);
-            pluginVersionData.setPath(cacheManager.root());
-            cacheManager.put(pluginVersionData);
-        }
-        return pluginVersionData;
+        return getSnapshot(
+                CacheManager.PLUGIN_VERSIONS_CACHE_KEY,
+                PluginVersionData.class,
+                expired -> downloadPluginVersionData(config, expired));
     }
 
     /**
@@ -348,16 +453,10 @@ public class PluginService {
      * @return Plugin installation stats data
      */
     public PluginInstallationStatsData getPluginInstallationStatsData() {
-        PluginInstallationStatsData pluginInstallationStatsData = cacheManager.get(
-                cacheManager.root(), CacheManager.INSTALLATION_STATS_KEY, PluginInstallationStatsData.class);
-        // Download and update cache
-        if (pluginInstallationStatsData == null) {
-            pluginInstallationStatsData = downloadInstallationStatsData();
-            pluginInstallationStatsData.setKey(CacheManager.INSTALLATION_STATS_KEY);
-            pluginInstallationStatsData.setPath(cacheManager.root());
-            cacheManager.put(pluginInstallationStatsData);
-        }
-        return pluginInstallationStatsData;
+        return getSnapshot(
+                CacheManager.INSTALLATION_STATS_KEY,
+                PluginInstallationStatsData.class,
+                this::downloadInstallationStatsData);
     }
 
     /**
@@ -366,6 +465,23 @@ public class PluginService {
      * @return Update center data
      */
     public PluginVersionData downloadPluginVersionData(Config config) {
-        return JsonUtils.fromUrl(config.getJenkinsPluginVersions(), PluginVersionData.class);
+        return downloadPluginVersionData(config, null);
     }
+
+    /**
+     * Download refreshed plugin version data unless the expired entry is not modified
+     * @param config Configuration
+     * @param expired The expired entry to revalidate or null
+     * @return Plugin version data
+     */
+    public PluginVersionData downloadPluginVersionData(Config config, @Nullable PluginVersionData expired) {
+        return JsonUtils.fromUrl(config.getJenkinsPluginVersions(), expired, PluginVersionData.class);
+    }
+
+    /**
+     * A loaded root cache entry
+     * @param data The entry
+     * @param expiration When the backing cache entry expires
+     */
+    private record Snapshot(CacheEntry<?> data, Instant expiration) {}
 }
@@ -19,6 +19,11 @@ public class TemplateUtils {
 
     private static final Logger LOG = LoggerFactory.getLogger(TemplateUtils.class);
 
+    /**
+     * End of the recipe details closing the introduction shared by the pull request body templates
+     */
+    private static final String RECIPE_DETAILS_END = "</details>";
+
     /**
      * Hidden constructor
      */
@@ -37,6 +42,9 @@ public class TemplateUtils {
      * @return The rendered pull request body
      */
     public static String renderPullRequestBody(Plugin plugin, Recipe recipe) {
+        if (recipe.isCampaign()) {
+            return renderCampaignPullRequestBody(plugin, recipe);
+        }
         if (hasBodyTemplate(recipe)) {
             return renderTemplate(
                     getTemplateNameForRecipe("pr-body", recipe), Map.of("plugin", plugin, "recipe", recipe));
@@ -44,6 +52,44 @@ public class TemplateUtils {
         return renderTemplate("pr-body.jte", Map.of("plugin", plugin, "recipe", recipe));
     }
 
+    /**
+     * Render the pull request body of a campaign. The generic body listing the applied recipes is followed by
+     * a section for each recipe having its own templates, titled by its pull request title
+     *
+     * @param plugin Plugin to modernize
+     * @param campaign Campaign to apply
+     * @return The rendered pull request body
+     */
+    private static String renderCampaignPullRequestBody(Plugin plugin, Recipe campaign) {
+        StringBuilder body =
+                new StringBuilder(renderTemplate("pr-body.jte", Map.of("plugin", plugin, "recipe", campaign)));
+        for (Recipe recipe : campaign.getRecipes()) {
+            boolean hasBody = hasBodyTemplate(recipe);
+            if (!hasBody && !hasTitleTemplate(recipe)) {
+                continue;
+            }
+            body.append("\n\n### ").append(renderPullRequestTitle(plugin, recipe));
+            if (hasBody) {
+                String section = getRecipeSection(renderPullRequestBody(plugin, recipe));
+                if (!section.isEmpty()) {
+                    body.append("\n\n").append(section);
+                }
+            }
+        }
+        return body.toString();
+    }
+
+    /**
+     * Get the part of a recipe pull request body specific to the recipe, without the shared introduction
+     *
+     * @param body The rendered pull request body of the recipe
+     * @return The specific part
+     */
+    private static String getRecipeSection(String body) {
+        int index = body.indexOf(RECIPE_DETAILS_END);
+        return index < 0 ? body : body.substring(index + RECIPE_DETAILS_END.length()).trim();
+    }
+
     /**
      * Render the commit message
      *
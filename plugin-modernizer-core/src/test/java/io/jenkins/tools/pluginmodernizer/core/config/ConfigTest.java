@@ -112,4 +112,30 @@ public class ConfigTest {
 
         assertTrue(config.isDryRun());
     }
+
+    @Test
+    public void testConfigBuilderParallelism() {
+        Config config = Config.builder().build();
+        assertEquals(1, config.getParallelism());
+        assertEquals(1, config.getFetchParallelism());
+        assertEquals(1, config.getPublishParallelism());
+
+        config = Config.builder().withParallelism(4).build();
+        assertEquals(4, config.getParallelism());
+        assertEquals(4, config.getFetchParallelism());
+        assertEquals(4, config.getPublishParallelism());
+
+        config = Config.builder()
+                .withParallelism(4)
+                .withFetchParallelism(8)
+                .withPublishParallelism(2)
+                .build();
+        assertEquals(4, config.getParallelism());
+        assertEquals(8, config.getFetchParallelism());
+        assertEquals(2, config.getPublishParallelism());
+
+        config = Config.builder().withParallelism(0).withFetchParallelism(-1).build();
+        assertEquals(1, config.getParallelism());
+        assertEquals(1, config.getFetchParallelism());
+    }
 }
@@ -0,0 +1,83 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.jenkins.tools.pluginmodernizer.core.model.DiffStats;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.dircache.DirCacheIterator;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiffStatsCounterTest {
+
+    @TempDir
+    private Path repo;
+
+    @Test
+    void shouldCountCommittedChanges() throws Exception {
+        try (Git git = Git.init().setDirectory(repo.toFile()).call()) {
+            Files.writeString(repo.resolve("pom.xml"), "a\nb\nc\n");
+            Files.writeString(repo.resolve("removed.txt"), "x\ny\n");
+            RevCommit base = commit(git);
+
+            Files.writeString(repo.resolve("pom.xml"), "a\nB\nc\nd\n");
+            Files.delete(repo.resolve("removed.txt"));
+            Files.writeString(repo.resolve("Jenkinsfile"), "buildPlugin()\n");
+            Files.write(repo.resolve("logo.png"), new byte[] {(byte) 0x89, 'P', 'N', 'G', 0, 0, 1});
+            Files.write(repo.resolve("large.txt"), "line\n".repeat(300_000).getBytes());
+            RevCommit head = commit(git);
+
+            List<DiffEntry> diffs;
+            try (ObjectReader reader = git.getRepository().newObjectReader()) {
+                CanonicalTreeParser oldTree = new CanonicalTreeParser();
+                oldTree.reset(reader, base.getTree());
+                CanonicalTreeParser newTree = new CanonicalTreeParser();
+                newTree.reset(reader, head.getTree());
+                diffs = git.diff()
+                        .setOldTree(oldTree)
+                        .setNewTree(newTree)
+                        .setShowNameAndStatusOnly(true)
+                        .call();
+            }
+
+            // pom.xml: +2 -1, removed.txt: -2, Jenkinsfile: +1, binary and large files without lines
+            assertEquals(new DiffStats(3, 3, 5), new DiffStatsCounter(git.getRepository(), false).count(diffs));
+        }
+    }
+
+    @Test
+    void shouldCountWorkingTreeChanges() throws Exception {
+        try (Git git = Git.init().setDirectory(repo.toFile()).call()) {
+            Files.writeString(repo.resolve("pom.xml"), "a\nb\nc\n");
+            commit(git);
+
+            Files.writeString(repo.resolve("pom.xml"), "a\nc\nd\ne\n");
+            List<DiffEntry> diffs = git.diff()
+                    .setOldTree(new DirCacheIterator(git.getRepository().readDirCache()))
+                    .setNewTree(new FileTreeIterator(git.getRepository()))
+                    .setShowNameAndStatusOnly(true)
+                    .call();
+
+            assertEquals(new DiffStats(2, 1, 1), new DiffStatsCounter(git.getRepository(), true).count(diffs));
+        }
+    }
+
+    private static RevCommit commit(Git git) throws Exception {
+        git.add().addFilepattern(".").call();
+        git.add().setUpdate(true).addFilepattern(".").call();
+        return git.commit()
+                .setMessage("commit")
+                .setAuthor("test", "test@example.com")
+                .setCommitter("test", "test@example.com")
+                .setSign(false)
+                .call();
+    }
+}
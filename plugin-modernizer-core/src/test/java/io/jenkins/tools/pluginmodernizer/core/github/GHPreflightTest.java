@@ -0,0 +1,151 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class GHPreflightTest {
+
+    @Test
+    void shouldQueryUpstreamAndForkOfEachRepository() {
+        String query = GHPreflight.buildQuery("jenkinsci", "fake-owner", List.of("git-plugin", "ssh-plugin"));
+        assertTrue(query.contains("u0: repository(owner: \"jenkinsci\", name: \"git-plugin\")"));
+        assertTrue(query.contains("f0: repository(owner: \"fake-owner\", name: \"git-plugin\")"));
+        assertTrue(query.contains("u1: repository(owner: \"jenkinsci\", name: \"ssh-plugin\")"));
+        assertTrue(query.contains("f1: repository(owner: \"fake-owner\", name: \"ssh-plugin\")"));
+    }
+
+    @Test
+    void shouldParseRepositoryState() {
+        String response =
+                """
+                {
+                  "data": {
+                    "rateLimit": { "cost": 1, "remaining": 4999 },
+                    "u0": {
+                      "isArchived": false,
+                      "pullRequests": {
+                        "pageInfo": { "hasNextPage": false },
+                        "nodes": [
+                          { "headRefName": "feature", "headRepositoryOwner": { "login": "fake-owner" } },
+                          { "headRefName": "deleted", "headRepositoryOwner": null }
+                        ]
+                      }
+                    },
+                    "f0": { "isFork": true },
+                    "u1": {
+                      "isArchived": true,
+                      "pullRequests": { "pageInfo": { "hasNextPage": true }, "nodes": [] }
+                    },
+                    "f1": { "isFork": false },
+                    "u2": null,
+                    "f2": null
+                  }
+                }
+                """;
+        Map<String, RepositoryState> states =
+                GHPreflight.parse(response, List.of("git-plugin", "ssh-plugin", "missing-plugin"));
+
+        assertEquals(2, states.size());
+        RepositoryState git = states.get("git-plugin");
+        assertFalse(git.archived());
+        assertTrue(git.forked());
+        assertTrue(git.completePullRequests());
+        assertTrue(git.hasPullRequest("fake-owner:feature"));
+        assertTrue(git.hasPullRequestFrom("fake-owner"));
+        assertEquals(1, git.openPullRequestHeads().size());
+
+        RepositoryState ssh = states.get("ssh-plugin");
+        assertTrue(ssh.archived());
+        assertFalse(ssh.forked());
+        assertFalse(ssh.completePullRequests());
+    }
+
+    @Test
+    void shouldFailWithoutData() {
+        assertThrows(
+                ModernizerException.class,
+                () -> GHPreflight.parse("{\"errors\": [{\"message\": \"Bad credentials\"}]}", List.of("git-plugin")));
+    }
+
+    @Test
+    void shouldResolveGraphQLEndpoint() {
+        assertEquals(
+                URI.create("https://api.github.com/graphql"),
+                GHPreflight.getGraphQLEndpoint("https://api.github.com"));
+        assertEquals(
+                URI.create("https://github.example.com/api/graphql"),
+                GHPreflight.getGraphQLEndpoint("https://github.example.com/api/v3/"));
+    }
+
+    @Test
+    void shouldTrackForkAndPullRequestChanges() {
+        RepositoryState state = new RepositoryState(false, false, Set.of(), true);
+        RepositoryState updated = state.withForked(true).withPullRequest("fake-owner:feature");
+        assertTrue(updated.forked());
+        assertTrue(updated.hasPullRequest("fake-owner:feature"));
+        assertFalse(state.hasPullRequest("fake-owner:feature"));
+    }
+
+    @Test
+    void shouldIndexSearchedPullRequests() {
+        String response =
+                """
+                {
+                  "data": {
+                    "search": {
+                      "issueCount": 3,
+                      "pageInfo": { "hasNextPage": true, "endCursor": "Y3Vyc29yOjE=" },
+                      "nodes": [
+                        {
+                          "number": 12,
+                          "headRefName": "feature",
+                          "repository": { "name": "git-plugin" },
+                          "headRepositoryOwner": { "login": "fake-owner" }
+                        },
+                        {
+                          "number": 13,
+                          "headRefName": "deleted",
+                          "repository": { "name": "git-plugin" },
+                          "headRepositoryOwner": null
+                        },
+                        {}
+                      ]
+                    }
+                  }
+                }
+                """;
+        Map<String, Map<String, Integer>> pullRequests = new HashMap<>();
+        GHPreflight.SearchPage page = GHPreflight.parseSearchPage(response, pullRequests);
+        assertEquals(3, page.issueCount());
+        assertTrue(page.hasNextPage());
+        assertEquals("Y3Vyc29yOjE=", page.endCursor());
+
+        PullRequestIndex index = new PullRequestIndex(pullRequests, true);
+        assertEquals(1, index.size());
+        assertEquals(12, index.find("git-plugin", "fake-owner:feature"));
+        assertNull(index.find("git-plugin", "fake-owner:other"));
+        assertTrue(index.hasPullRequestFrom("git-plugin", "fake-owner"));
+        assertFalse(index.hasPullRequestFrom("ssh-plugin", "fake-owner"));
+
+        index.add("ssh-plugin", "fake-owner:feature", 42);
+        assertTrue(index.hasPullRequestFrom("ssh-plugin", "fake-owner"));
+    }
+
+    @Test
+    void shouldNotIndexWhenUnavailable() {
+        PullRequestIndex.UNAVAILABLE.add("git-plugin", "fake-owner:feature", 12);
+        assertFalse(PullRequestIndex.UNAVAILABLE.isComplete());
+        assertNull(PullRequestIndex.UNAVAILABLE.find("git-plugin", "fake-owner:feature"));
+    }
+}
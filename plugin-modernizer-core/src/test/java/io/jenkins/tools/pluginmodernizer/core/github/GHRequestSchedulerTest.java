@@ -0,0 +1,162 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+class GHRequestSchedulerTest {
+
+    private MutableClock clock;
+    private List<Duration> sleeps;
+    private GHRequestScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        sleeps = new ArrayList<>();
+        scheduler = new GHRequestScheduler(mock(GitHubConnector.class), 100, Duration.ofSeconds(1), clock) {
+            @Override
+            void sleep(Duration delay) {
+                sleeps.add(delay);
+                clock.instant = clock.instant.plus(delay);
+            }
+        };
+    }
+
+    @Test
+    void shouldTrackRemainingBudget() throws Exception {
+        assertEquals(-1, scheduler.getRemaining());
+        scheduler.update(GHRequestScheduler.CORE, response(200, "4000", "5000", 3600, null));
+        assertEquals(4000, scheduler.getRemaining());
+        scheduler.acquire(GHRequestScheduler.CORE, false);
+        assertEquals(3999, scheduler.getRemaining());
+        assertEquals(List.of(), sleeps);
+    }
+
+    @Test
+    void shouldKeepReserveForWrites() throws Exception {
+        scheduler.update(GHRequestScheduler.CORE, response(200, "50", "5000", 60, null));
+
+        // Writes use the reserve
+        scheduler.acquire(GHRequestScheduler.CORE, true);
+        assertEquals(List.of(), sleeps);
+
+        // Reads wait for the reset
+        scheduler.acquire(GHRequestScheduler.CORE, false);
+        assertEquals(List.of(Duration.ofSeconds(60)), sleeps);
+    }
+
+    @Test
+    void shouldSpaceWrites() throws Exception {
+        scheduler.acquire(GHRequestScheduler.CORE, true);
+        scheduler.acquire(GHRequestScheduler.CORE, true);
+        scheduler.acquire(GHRequestScheduler.CORE, false);
+        assertEquals(List.of(Duration.ofSeconds(1)), sleeps);
+    }
+
+    @Test
+    void shouldPauseAllRequestsOnSecondaryRateLimit() throws Exception {
+        scheduler.update(GHRequestScheduler.CORE, response(403, "4000", "5000", 3600, "30"));
+        scheduler.acquire(GHRequestScheduler.CORE, false);
+        assertEquals(List.of(Duration.ofSeconds(30)), sleeps);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldTrackGraphQLQueries() throws Exception {
+        HttpClient client = mock(HttpClient.class);
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        String reset = String.valueOf(clock.instant.plusSeconds(60).getEpochSecond());
+        Map<String, List<String>> headers = Map.of(
+                "X-RateLimit-Remaining", List.of("0"),
+                "X-RateLimit-Limit", List.of("5000"),
+                "X-RateLimit-Reset", List.of(reset),
+                "X-RateLimit-Resource", List.of("graphql"));
+        when(response.headers()).thenReturn(HttpHeaders.of(headers, (name, value) -> true));
+        when(client.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(response);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("https://api.github.com/graphql"))
+                .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                .build();
+
+        scheduler.send(client, request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(List.of(), sleeps);
+
+        // Budget of GraphQL queries is exhausted
+        scheduler.send(client, request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(List.of(Duration.ofSeconds(60)), sleeps);
+        assertEquals(-1, scheduler.getRemaining());
+    }
+
+    @Test
+    void shouldResolveResourceOfRequest() throws Exception {
+        assertEquals("search", GHRequestScheduler.getResource(request("https://api.github.com/search/issues")));
+        assertEquals("graphql", GHRequestScheduler.getResource(request("https://api.github.com/graphql")));
+        assertEquals(
+                GHRequestScheduler.CORE,
+                GHRequestScheduler.getResource(request("https://github.example.com/api/v3/repos/jenkinsci/git")));
+    }
+
+    private GitHubConnectorResponse response(
+            int status, String remaining, String limit, long resetIn, String retryAfter) {
+        GitHubConnectorResponse response = mock(GitHubConnectorResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.header("X-RateLimit-Remaining")).thenReturn(remaining);
+        when(response.header("X-RateLimit-Limit")).thenReturn(limit);
+        when(response.header("X-RateLimit-Reset"))
+                .thenReturn(String.valueOf(clock.instant.plusSeconds(resetIn).getEpochSecond()));
+        when(response.header("X-RateLimit-Resource")).thenReturn(GHRequestScheduler.CORE);
+        when(response.header("Retry-After")).thenReturn(retryAfter);
+        return response;
+    }
+
+    private GitHubConnectorRequest request(String url) throws Exception {
+        GitHubConnectorRequest request = mock(GitHubConnectorRequest.class);
+        when(request.url()).thenReturn(URI.create(url).toURL());
+        return request;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.mockito.ArgumentCaptor;
+
+class GHResponseCacheTest {
+
+    @TempDir
+    private Path cacheDir;
+
+    private GitHubConnector delegate;
+    private GHResponseCache cache;
+    private GitHubConnectorRequest request;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        delegate = mock(GitHubConnector.class);
+        cache = new GHResponseCache(delegate, cacheDir);
+        request = mock(GitHubConnectorRequest.class);
+        when(request.method()).thenReturn("GET");
+        when(request.url())
+                .thenReturn(URI.create("https://api.github.com/repos/jenkinsci/git-plugin").toURL());
+        when(request.allHeaders()).thenReturn(Map.of("Accept", List.of("application/vnd.github+json")));
+    }
+
+    @Test
+    void shouldRevalidateCachedResponse() throws Exception {
+        GitHubConnectorResponse ok = mock(GitHubConnectorResponse.class);
+        when(ok.statusCode()).thenReturn(200);
+        when(ok.header("ETag")).thenReturn("\"abc\"");
+        when(ok.allHeaders()).thenReturn(Map.of("ETag", List.of("\"abc\""), "X-RateLimit-Remaining", List.of("10")));
+        when(ok.bodyStream()).thenReturn(body("{\"name\":\"git-plugin\"}"));
+        GitHubConnectorResponse notModified = mock(GitHubConnectorResponse.class);
+        when(notModified.statusCode()).thenReturn(304);
+        when(notModified.allHeaders()).thenReturn(Map.of("X-RateLimit-Remaining", List.of("9")));
+        when(delegate.send(any())).thenReturn(ok, notModified);
+
+        try (GitHubConnectorResponse first = cache.send(request)) {
+            assertEquals(200, first.statusCode());
+            assertEquals("{\"name\":\"git-plugin\"}", read(first));
+        }
+        try (GitHubConnectorResponse second = cache.send(request)) {
+            assertEquals(200, second.statusCode());
+            assertEquals("{\"name\":\"git-plugin\"}", read(second));
+            assertEquals("9", second.header("X-RateLimit-Remaining"));
+        }
+
+        ArgumentCaptor<GitHubConnectorRequest> captor = ArgumentCaptor.forClass(GitHubConnectorRequest.class);
+        verify(delegate, times(2)).send(captor.capture());
+        assertNull(captor.getAllValues().get(0).header("If-None-Match"));
+        assertEquals("\"abc\"", captor.getAllValues().get(1).header("If-None-Match"));
+        assertEquals("application/vnd.github+json", captor.getAllValues().get(1).header("Accept"));
+    }
+
+    @Test
+    void shouldNotCacheWrites() throws Exception {
+        GitHubConnectorRequest post = mock(GitHubConnectorRequest.class);
+        when(post.method()).thenReturn("POST");
+        GitHubConnectorResponse created = mock(GitHubConnectorResponse.class);
+        when(delegate.send(post)).thenReturn(created);
+
+        assertEquals(created, cache.send(post));
+        assertEquals(created, cache.send(post));
+        verify(delegate, times(2)).send(post);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(GitHubConnectorResponse response) throws Exception {
+        try (InputStream stream = response.bodyStream()) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package io.jenkins.tools.pluginmodernizer.core.github;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -12,6 +14,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -30,7 +33,9 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 import org.eclipse.jgit.api.CloneCommand;
@@ -44,11 +49,13 @@ import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.platform.commons.util.ReflectionUtils;
 import org.kohsuke.github.GHCommitPointer;
+import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHIssueState;
 import org.kohsuke.github.GHMyself;
 import org.kohsuke.github.GHOrganization;
 import org.kohsuke.github.GHPullRequest;
 import org.kohsuke.github.GHPullRequestQueryBuilder;
+import org.kohsuke.github.GHRef;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHRepositoryForkBuilder;
 import org.kohsuke.github.GitHub;
@@ -407,6 +414,119 @@ public class GHServiceTest {
         verify(repository, times(1)).createFork();
     }
 
+    @Test
+    public void shouldPollNewForkUntilReady() throws Exception {
+
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        GHRepository fork = Mockito.mock(GHRepository.class);
+        GHMyself myself = Mockito.mock(GHMyself.class);
+        GHRepositoryForkBuilder builder = Mockito.mock(GHRepositoryForkBuilder.class);
+
+        // Mock
+        doReturn("fake-owner").when(config).getGithubOwner();
+        doReturn(null).when(config).getGithubAppId();
+        doReturn(Duration.ofSeconds(30)).when(config).getForkTimeout();
+        doReturn("fake-repo").when(repository).getName();
+        doReturn("fake-repo").when(plugin).getRepositoryName();
+        doReturn(Mockito.mock(URL.class)).when(fork).getHtmlUrl();
+        doReturn("main").when(fork).getDefaultBranch();
+        doThrow(new GHFileNotFoundException())
+                .doReturn(Mockito.mock(GHRef.class))
+                .when(fork)
+                .getRef(eq("heads/main"));
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+        doReturn(myself).when(github).getMyself();
+        doReturn(builder).when(repository).createFork();
+        doReturn(fork).when(builder).create();
+
+        // Not yet forked
+        doReturn(null).when(myself).getRepository(eq("fake-repo"));
+
+        // Directory doesn't exists
+        doReturn(Path.of("not-existing-dir")).when(plugin).getLocalRepository();
+
+        // Test
+        service.fork(plugin, RepoType.PLUGIN);
+
+        // Verify
+        verify(fork, timeout(5000).times(2)).getRef(eq("heads/main"));
+    }
+
+    @Test
+    public void shouldNotWaitForNewForkOnSync() throws Exception {
+
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        GHRepository fork = Mockito.mock(GHRepository.class);
+        GHMyself myself = Mockito.mock(GHMyself.class);
+        GHRepositoryForkBuilder builder = Mockito.mock(GHRepositoryForkBuilder.class);
+
+        // Mock
+        doReturn("fake-owner").when(config).getGithubOwner();
+        doReturn(null).when(config).getGithubAppId();
+        doReturn(Duration.ofSeconds(30)).when(config).getForkTimeout();
+        doReturn("fake-repo").when(repository).getName();
+        doReturn("fake-repo").when(plugin).getRepositoryName();
+        doReturn(Mockito.mock(URL.class)).when(fork).getHtmlUrl();
+        doReturn("main").when(fork).getDefaultBranch();
+        doThrow(new GHFileNotFoundException()).when(fork).getRef(eq("heads/main"));
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+        doReturn(myself).when(github).getMyself();
+        doReturn(builder).when(repository).createFork();
+        doReturn(fork).when(builder).create();
+
+        // Not yet forked
+        doReturn(null).when(myself).getRepository(eq("fake-repo"));
+
+        // Directory doesn't exists
+        doReturn(Path.of("not-existing-dir")).when(plugin).getLocalRepository();
+
+        // Test
+        service.fork(plugin, RepoType.PLUGIN);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> service.sync(plugin, RepoType.PLUGIN));
+
+        // Verify
+        verify(fork, never()).sync(anyString());
+        verify(fork, timeout(5000).atLeastOnce()).getRef(eq("heads/main"));
+    }
+
+    @Test
+    public void shouldSyncNewForkAfterFirstSync() throws Exception {
+
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        GHRepository fork = Mockito.mock(GHRepository.class);
+        GHMyself myself = Mockito.mock(GHMyself.class);
+        GHRepositoryForkBuilder builder = Mockito.mock(GHRepositoryForkBuilder.class);
+
+        // Mock
+        doReturn("fake-owner").when(config).getGithubOwner();
+        doReturn(null).when(config).getGithubAppId();
+        doReturn(Duration.ofSeconds(30)).when(config).getForkTimeout();
+        doReturn("metadata-plugin-modernizer").when(repository).getName();
+        doReturn(Mockito.mock(URL.class)).when(fork).getHtmlUrl();
+        doReturn("main").when(fork).getDefaultBranch();
+        doReturn(Mockito.mock(GHRef.class)).when(fork).getRef(eq("heads/main"));
+        doReturn(repository).when(plugin).getRemoteMetadataRepository(eq(service));
+        doReturn(myself).when(github).getMyself();
+        doReturn(builder).when(repository).createFork();
+        doReturn(fork).when(builder).create();
+        doReturn(fork).when(github).getRepository(eq("fake-owner/metadata-plugin-modernizer"));
+
+        // Directory doesn't exists
+        doReturn(Path.of("not-existing-dir")).when(plugin).getLocalMetadataRepository();
+
+        // Not yet forked, then forked
+        doReturn(null).doReturn(fork).when(myself).getRepository(eq("metadata-plugin-modernizer"));
+
+        // Test
+        service.fork(plugin, RepoType.METADATA);
+        service.sync(plugin, RepoType.METADATA);
+        service.sync(plugin, RepoType.METADATA);
+
+        // Verify
+        verify(fork, times(1)).sync(eq("main"));
+        verify(fork, timeout(5000).times(1)).getRef(eq("heads/main"));
+    }
+
     @Test
     public void shouldForkMetadataRepoToMyself() throws Exception {
 
@@ -974,6 +1094,142 @@ public class GHServiceTest {
         }
     }
 
+    @Test
+    public void shouldReportUpstreamChangesOnIncrementalFetch() throws Exception {
+
+        // Upstream repository
+        Path upstream = pluginDir.resolve("upstream");
+        Files.createDirectories(upstream);
+        Files.writeString(upstream.resolve("pom.xml"), "<project/>");
+        Path localRepository = pluginDir.resolve("sources");
+        try (Git git = Git.init()
+                .setDirectory(upstream.toFile())
+                .setInitialBranch("main")
+                .call()) {
+            git.add().addFilepattern(".").call();
+            git.commit()
+                    .setMessage("Initial commit")
+                    .setAuthor("test", "test@example.com")
+                    .setCommitter("test", "test@example.com")
+                    .setSign(false)
+                    .call();
+            Git.cloneRepository()
+                    .setURI(upstream.toUri().toString())
+                    .setDirectory(localRepository.toFile())
+                    .call()
+                    .close();
+        }
+
+        // Mock
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+        doReturn(localRepository).when(plugin).getLocalRepository();
+        doReturn(upstream.toUri().toString()).when(repository).getHttpTransportUrl();
+        doReturn("main").when(repository).getDefaultBranch();
+
+        // Nothing changed upstream
+        service.fetch(plugin, RepoType.PLUGIN);
+        verify(plugin, times(1)).withoutUpstreamChanges();
+
+        // New upstream commit
+        try (Git git = Git.open(upstream.toFile())) {
+            Files.writeString(upstream.resolve("pom.xml"), "<project></project>");
+            git.add().addFilepattern(".").call();
+            git.commit()
+                    .setMessage("Update pom")
+                    .setAuthor("test", "test@example.com")
+                    .setCommitter("test", "test@example.com")
+                    .setSign(false)
+                    .call();
+        }
+        service.fetch(plugin, RepoType.PLUGIN);
+        verify(plugin, times(1)).withUpstreamChanges();
+        assertEquals("<project></project>", Files.readString(localRepository.resolve("pom.xml")));
+    }
+
+    @Test
+    public void shouldCheckoutFromMirrorSharingObjects() throws Exception {
+
+        // Upstream repository
+        Path upstream = pluginDir.resolve("upstream");
+        Files.createDirectories(upstream);
+        Files.writeString(upstream.resolve("pom.xml"), "<project/>");
+        try (Git git = Git.init()
+                .setDirectory(upstream.toFile())
+                .setInitialBranch("main")
+                .call()) {
+            git.add().addFilepattern(".").call();
+            git.commit()
+                    .setMessage("Initial commit")
+                    .setAuthor("test", "test@example.com")
+                    .setCommitter("test", "test@example.com")
+                    .setSign(false)
+                    .call();
+        }
+
+        // Mock
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        Path localRepository = pluginDir.resolve("cache").resolve("example").resolve("sources");
+        doReturn(true).when(config).isGitMirror();
+        doReturn(pluginDir.resolve("cache")).when(config).getCachePath();
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+        doReturn(localRepository).when(plugin).getLocalRepository();
+        doReturn(upstream.toUri().toString()).when(repository).getHttpTransportUrl();
+        doReturn("jenkinsci/example-plugin").when(repository).getFullName();
+        doReturn("main").when(repository).getDefaultBranch();
+
+        // Test
+        service.fetch(plugin, RepoType.PLUGIN);
+
+        Path mirror = pluginDir.resolve("cache")
+                .resolve(Settings.MIRRORS_DIRECTORY)
+                .resolve("jenkinsci/example-plugin.git");
+        assertTrue(Files.isDirectory(mirror));
+        assertEquals(
+                mirror.resolve("objects").toAbsolutePath().toString(),
+                Files.readString(localRepository.resolve(".git/objects/info/alternates"))
+                        .trim());
+        assertEquals("<project/>", Files.readString(localRepository.resolve("pom.xml")));
+        try (Git git = Git.open(localRepository.toFile())) {
+            assertEquals("main", git.getRepository().getBranch());
+        }
+    }
+
+    @Test
+    public void shouldShallowCloneDefaultBranchWhenCloneDepthIsSet() throws Exception {
+
+        // Mock
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        Git git = Mockito.mock(Git.class);
+        CloneCommand cloneCommand = Mockito.mock(CloneCommand.class);
+
+        doReturn(1).when(config).getCloneDepth();
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+        doReturn(git).when(cloneCommand).call();
+        doReturn("fake-url").when(repository).getHttpTransportUrl();
+        doReturn("main").when(repository).getDefaultBranch();
+        doReturn(cloneCommand).when(cloneCommand).setRemote(eq("origin"));
+        doReturn(cloneCommand).when(cloneCommand).setURI(eq("fake-url"));
+        doReturn(cloneCommand).when(cloneCommand).setCredentialsProvider(any(CredentialsProvider.class));
+        doReturn(cloneCommand).when(cloneCommand).setDirectory(any(File.class));
+        doReturn(cloneCommand).when(cloneCommand).setDepth(eq(1));
+        doReturn(cloneCommand).when(cloneCommand).setCloneAllBranches(eq(false));
+        doReturn(cloneCommand).when(cloneCommand).setBranchesToClone(eq(List.of("refs/heads/main")));
+        doReturn(cloneCommand).when(cloneCommand).setBranch(eq("refs/heads/main"));
+
+        // Directory doesn't exists
+        doReturn(Path.of("not-existing-dir")).when(plugin).getLocalRepository();
+
+        // Test
+        try (MockedStatic<Git> mockStaticGit = mockStatic(Git.class)) {
+            mockStaticGit.when(Git::cloneRepository).thenReturn(cloneCommand);
+            service.fetch(plugin, RepoType.PLUGIN);
+            verify(cloneCommand, times(1)).setDepth(1);
+            verify(cloneCommand, times(1)).setBranchesToClone(List.of("refs/heads/main"));
+            verify(cloneCommand, times(1)).call();
+        }
+    }
+
     @Test
     public void shouldHttpFetchOriginalRepoInDryRunModeToNewFolder() throws Exception {
 
@@ -5,13 +5,18 @@ import static java.time.temporal.ChronoUnit.MINUTES;
 import static org.junit.jupiter.api.Assertions.*;
 
 import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginInstallationStatsData;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -69,6 +74,15 @@ public class CacheManagerTest {
         assertNotNull(entry);
     }
 
+    @Test
+    public void cacheDoesNotParseExpiredEntryWithoutValidityKey() throws IOException {
+        CacheManager managerWithExpiredEntries = cacheManagerWithExpiredEntries();
+        // Parsing this entry would fail
+        Files.writeString(cachePath.resolve("expired-key"), "{ not json");
+
+        assertNull(managerWithExpiredEntries.get(cacheManager.root(), "expired-key", TestCacheEntry.class));
+    }
+
     private CacheManager cacheManagerWithoutExpiredEntries() {
         Clock fiftyNineMinutesInTheFuture =
                 Clock.fixed(systemUTC().instant().plus(59, MINUTES), ZoneId.systemDefault());
@@ -119,6 +133,43 @@ public class CacheManagerTest {
         assertNotNull(cacheManager.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
     }
 
+    @Test
+    void testGetWithMatchingValidityKeyIgnoresExpiration() {
+        String cacheKey = "testKey";
+        CacheManager managerWithExpiredEntries = cacheManagerWithExpiredEntries();
+        TestCacheEntry value = new TestCacheEntry(cacheManager, TestCacheEntry.class, cacheKey, cachePath);
+        value.setValidityKey("abc:123");
+        managerWithExpiredEntries.put(value);
+
+        TestCacheEntry entry =
+                managerWithExpiredEntries.get(cacheManager.root(), cacheKey, TestCacheEntry.class, "abc:123");
+        assertNotNull(entry);
+        assertEquals("abc:123", entry.getValidityKey());
+    }
+
+    @Test
+    void testGetWithDifferentValidityKeyIsStale() {
+        String cacheKey = "testKey";
+        CacheManager managerWithoutExpiredEntries = cacheManagerWithoutExpiredEntries();
+        TestCacheEntry value = new TestCacheEntry(cacheManager, TestCacheEntry.class, cacheKey, cachePath);
+        value.setValidityKey("abc:123");
+        managerWithoutExpiredEntries.put(value);
+
+        assertNull(managerWithoutExpiredEntries.get(cacheManager.root(), cacheKey, TestCacheEntry.class, "def:456"));
+    }
+
+    @Test
+    void testGetWithoutStoredValidityKeyFallsBackToExpiration() {
+        String cacheKey = "testKey";
+        TestCacheEntry value = new TestCacheEntry(cacheManager, TestCacheEntry.class, cacheKey, cachePath);
+        cacheManager.put(value);
+
+        assertNotNull(cacheManagerWithoutExpiredEntries()
+                .get(cacheManager.root(), cacheKey, TestCacheEntry.class, "abc:123"));
+        assertNull(
+                cacheManagerWithExpiredEntries().get(cacheManager.root(), cacheKey, TestCacheEntry.class, "abc:123"));
+    }
+
     @Test
     void testRemove() {
         Path cachePath = tempDir.resolve("cache");
@@ -150,4 +201,129 @@ public class CacheManagerTest {
         cacheManager.remove(cacheManager.root(), cacheKey);
         assertFalse(Files.exists(fileToRemove));
     }
+
+    @Test
+    void testBinaryRoundTrip() {
+        CacheManager binaryCacheManager = new CacheManager(cachePath, true);
+        PluginInstallationStatsData stats = new PluginInstallationStatsData(binaryCacheManager);
+        stats.setPlugins(Map.of("git", 300000, "git-client", 290000));
+        stats.setValidityKey("abc:123");
+        binaryCacheManager.put(stats);
+
+        assertTrue(Files.exists(cachePath.resolve("plugin-installation-stats.bin")));
+        assertTrue(Files.exists(cachePath.resolve(CacheManager.INSTALLATION_STATS_KEY)));
+
+        PluginInstallationStatsData entry = binaryCacheManager.get(
+                binaryCacheManager.root(), CacheManager.INSTALLATION_STATS_KEY, PluginInstallationStatsData.class);
+        assertNotNull(entry);
+        assertEquals(stats.getPlugins(), entry.getPlugins());
+        assertEquals("abc:123", entry.getValidityKey());
+        assertEquals(CacheManager.INSTALLATION_STATS_KEY, entry.getKey());
+        assertSame(binaryCacheManager, entry.getCacheManager());
+
+        binaryCacheManager.remove(binaryCacheManager.root(), CacheManager.INSTALLATION_STATS_KEY);
+        assertFalse(Files.exists(cachePath.resolve("plugin-installation-stats.bin")));
+        assertFalse(Files.exists(cachePath.resolve(CacheManager.INSTALLATION_STATS_KEY)));
+    }
+
+    @Test
+    void testBinaryEntryIsExportedToJson() {
+        CacheManager binaryCacheManager = new CacheManager(cachePath, true);
+        PluginInstallationStatsData stats = new PluginInstallationStatsData(binaryCacheManager);
+        stats.setPlugins(Map.of("git", 300000));
+        binaryCacheManager.put(stats);
+
+        PluginInstallationStatsData entry = cacheManager.get(
+                cacheManager.root(), CacheManager.INSTALLATION_STATS_KEY, PluginInstallationStatsData.class);
+        assertNotNull(entry);
+        assertEquals(stats.getPlugins(), entry.getPlugins());
+    }
+
+    @Test
+    void testBinaryPrefersNewerJson() throws IOException {
+        CacheManager binaryCacheManager = new CacheManager(cachePath, true);
+        PluginInstallationStatsData stats = new PluginInstallationStatsData(binaryCacheManager);
+        stats.setPlugins(Map.of("git", 300000));
+        binaryCacheManager.put(stats);
+
+        // Written later by a run without the binary format
+        PluginInstallationStatsData newStats = new PluginInstallationStatsData(cacheManager);
+        newStats.setPlugins(Map.of("git", 310000));
+        cacheManager.put(newStats);
+        Path binaryFile = cachePath.resolve("plugin-installation-stats.bin");
+        Files.setLastModifiedTime(
+                binaryFile,
+                FileTime.from(Files.getLastModifiedTime(binaryFile).toInstant().minus(Duration.ofMinutes(1))));
+
+        PluginInstallationStatsData entry = binaryCacheManager.get(
+                binaryCacheManager.root(), CacheManager.INSTALLATION_STATS_KEY, PluginInstallationStatsData.class);
+        assertNotNull(entry);
+        assertEquals(newStats.getPlugins(), entry.getPlugins());
+    }
+
+    @Test
+    void testBinaryStringsAreShared() {
+        CacheManager binaryCacheManager = new CacheManager(cachePath, true);
+        PluginVersionData versions = JsonUtils.fromJson(
+                """
+                {"plugins": {
+                  "git": {"5.7.0": {"name": "git", "version": "5.7.0"}},
+                  "git-client": {"5.7.0": {"name": "git-client", "version": "5.7.0"}}
+                }}
+                """,
+                PluginVersionData.class);
+        versions.setKey(CacheManager.PLUGIN_VERSIONS_CACHE_KEY);
+        versions.setPath(binaryCacheManager.root());
+        binaryCacheManager.put(versions);
+
+        PluginVersionData entry = binaryCacheManager.get(
+                binaryCacheManager.root(), CacheManager.PLUGIN_VERSIONS_CACHE_KEY, PluginVersionData.class);
+        assertNotNull(entry);
+        assertEquals(versions.getPlugins(), entry.getPlugins());
+        assertSame(
+                entry.getPlugins().get("git").get("5.7.0").version(),
+                entry.getPlugins().get("git-client").get("5.7.0").version());
+    }
+
+    @Test
+    void testBinaryFallsBackToJson() {
+        PluginInstallationStatsData stats = new PluginInstallationStatsData(cacheManager);
+        stats.setPlugins(Map.of("git", 300000));
+        cacheManager.put(stats);
+
+        CacheManager binaryCacheManager = new CacheManager(cachePath, true);
+        PluginInstallationStatsData entry = binaryCacheManager.get(
+                binaryCacheManager.root(), CacheManager.INSTALLATION_STATS_KEY, PluginInstallationStatsData.class);
+        assertNotNull(entry);
+        assertEquals(stats.getPlugins(), entry.getPlugins());
+    }
+
+    @Test
+    void testMalformedBinaryIsSkipped() throws IOException {
+        CacheManager binaryCacheManager = new CacheManager(cachePath, true);
+        Files.write(cachePath.resolve("plugin-installation-stats.bin"), new byte[] {1, 2, 3});
+
+        assertNull(binaryCacheManager.get(
+                binaryCacheManager.root(), CacheManager.INSTALLATION_STATS_KEY, PluginInstallationStatsData.class));
+    }
+
+    @Test
+    void testGetStaleIgnoresExpirationAndTouchRefreshesEntry() {
+        String cacheKey = "testKey";
+        TestCacheEntry value = new TestCacheEntry(cacheManager, TestCacheEntry.class, cacheKey, cachePath);
+        value.setEtag("\"abc\"");
+        value.setLastModified("Wed, 21 Oct 2015 07:28:00 GMT");
+        cacheManager.put(value);
+        CacheManager managerWithExpiredEntries = cacheManagerWithExpiredEntries();
+        assertNull(managerWithExpiredEntries.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
+
+        TestCacheEntry stale = managerWithExpiredEntries.getStale(cacheManager.root(), cacheKey, TestCacheEntry.class);
+        assertNotNull(stale);
+        assertEquals("\"abc\"", stale.getEtag());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", stale.getLastModified());
+
+        managerWithExpiredEntries.touch(stale);
+        assertNotNull(managerWithExpiredEntries.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
+        assertNull(managerWithExpiredEntries.getStale(cacheManager.root(), "missing", TestCacheEntry.class));
+    }
 }
@@ -0,0 +1,109 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginCheckpoint;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CheckpointJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Plugin.build("test-plugin");
+    }
+
+    @Test
+    void shouldRecordStagesInOrder() {
+        CheckpointJournal journal = new CheckpointJournal(tempDir);
+        journal.open(plugin, "recipe", false);
+        assertFalse(journal.isReached(plugin, PluginCheckpoint.Stage.FETCHED));
+
+        journal.record(plugin, PluginCheckpoint.Stage.REWRITTEN);
+        assertTrue(journal.isReached(plugin, PluginCheckpoint.Stage.FETCHED));
+        assertTrue(journal.isReached(plugin, PluginCheckpoint.Stage.REWRITTEN));
+        assertFalse(journal.isReached(plugin, PluginCheckpoint.Stage.VERIFIED));
+
+        // Never go backward
+        journal.record(plugin, PluginCheckpoint.Stage.METADATA);
+        assertTrue(journal.isReached(plugin, PluginCheckpoint.Stage.REWRITTEN));
+        assertTrue(Files.exists(tempDir.resolve("test-plugin").resolve(CacheManager.CHECKPOINT_CACHE_KEY)));
+    }
+
+    @Test
+    void shouldResumeFromPreviousRun() throws Exception {
+        CheckpointJournal journal = new CheckpointJournal(tempDir);
+        journal.open(plugin, "recipe", false);
+        plugin.addModifiedFiles(List.of("pom.xml", "Jenkinsfile"));
+        journal.record(plugin, PluginCheckpoint.Stage.VERIFIED);
+
+        // Checkpoints never expire
+        Files.setLastModifiedTime(
+                tempDir.resolve("test-plugin").resolve(CacheManager.CHECKPOINT_CACHE_KEY),
+                FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+
+        CheckpointJournal resumed = new CheckpointJournal(tempDir);
+        Plugin other = Plugin.build("test-plugin");
+        resumed.open(other, "recipe", true);
+        assertTrue(resumed.isReached(other, PluginCheckpoint.Stage.VERIFIED));
+        assertFalse(resumed.isReached(other, PluginCheckpoint.Stage.PUSHED));
+        assertEquals(Set.of("pom.xml", "Jenkinsfile"), resumed.getModifiedFiles(other));
+    }
+
+    @Test
+    void shouldStartAgainWithoutResume() {
+        CheckpointJournal journal = new CheckpointJournal(tempDir);
+        journal.open(plugin, "recipe", false);
+        journal.record(plugin, PluginCheckpoint.Stage.PUSHED);
+
+        CheckpointJournal next = new CheckpointJournal(tempDir);
+        next.open(plugin, "recipe", false);
+        assertFalse(next.isReached(plugin, PluginCheckpoint.Stage.FETCHED));
+    }
+
+    @Test
+    void shouldIgnoreCheckpointOfOtherRecipe() {
+        CheckpointJournal journal = new CheckpointJournal(tempDir);
+        journal.open(plugin, "recipe", false);
+        journal.record(plugin, PluginCheckpoint.Stage.PUSHED);
+
+        CheckpointJournal next = new CheckpointJournal(tempDir);
+        next.open(plugin, "other-recipe", true);
+        assertFalse(next.isReached(plugin, PluginCheckpoint.Stage.FETCHED));
+    }
+
+    @Test
+    void shouldResetProgress() {
+        CheckpointJournal journal = new CheckpointJournal(tempDir);
+        journal.open(plugin, "recipe", false);
+        journal.record(plugin, PluginCheckpoint.Stage.METADATA);
+        journal.reset(plugin);
+        assertFalse(journal.isReached(plugin, PluginCheckpoint.Stage.FETCHED));
+
+        CheckpointJournal next = new CheckpointJournal(tempDir);
+        next.open(plugin, "recipe", true);
+        assertFalse(next.isReached(plugin, PluginCheckpoint.Stage.FETCHED));
+    }
+
+    @Test
+    void shouldIgnoreUnopenedPlugin() {
+        CheckpointJournal journal = new CheckpointJournal(tempDir);
+        journal.record(plugin, PluginCheckpoint.Stage.FETCHED);
+        assertFalse(journal.isReached(plugin, PluginCheckpoint.Stage.FETCHED));
+        assertTrue(journal.getModifiedFiles(plugin).isEmpty());
+    }
+}
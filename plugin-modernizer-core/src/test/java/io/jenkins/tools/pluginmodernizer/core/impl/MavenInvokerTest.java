@@ -0,0 +1,191 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import io.jenkins.tools.pluginmodernizer.core.config.Config;
+import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.maven.shared.invoker.InvocationRequest;
+import org.apache.maven.shared.invoker.InvocationResult;
+import org.apache.maven.shared.invoker.Invoker;
+import org.apache.maven.shared.invoker.MavenInvocationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class MavenInvokerTest {
+
+    @Mock
+    private Config config;
+
+    @Mock
+    private JdkFetcher jdkFetcher;
+
+    @Mock
+    private Invoker invoker;
+
+    @Mock
+    private Plugin plugin;
+
+    @InjectMocks
+    private MavenInvoker mavenInvoker;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        Path mavenHome = Files.createDirectories(tempDir.resolve("maven").resolve("bin"))
+                .getParent();
+        Files.createFile(mavenHome.resolve("bin/mvn.cmd"));
+        Path localRepository = Files.createDirectories(tempDir.resolve("plugin"));
+        Files.createFile(localRepository.resolve("pom.xml"));
+
+        when(config.getConfiguredMavenHome()).thenReturn(mavenHome);
+        when(plugin.getName()).thenReturn("example");
+        when(plugin.getLocalRepository()).thenReturn(localRepository);
+
+        InvocationResult result = mock(InvocationResult.class);
+        when(result.getExitCode()).thenReturn(0);
+        when(invoker.execute(any(InvocationRequest.class))).thenReturn(result);
+    }
+
+    @Test
+    void testGoalsRunSeparatelyWithoutBatch() throws Exception {
+        mavenInvoker.invokeGoal(plugin, "clean");
+        mavenInvoker.invokeGoal(plugin, "verify");
+
+        assertEquals(List.of(List.of("clean"), List.of("verify")), capturedArgs(2));
+    }
+
+    @Test
+    void testBatchRunsConsecutiveGoalsInSingleInvocation() throws Exception {
+        mavenInvoker.batch(plugin, () -> {
+            mavenInvoker.invokeGoal(plugin, "clean");
+            mavenInvoker.invokeGoal(plugin, "spotless:apply");
+            mavenInvoker.invokeGoal(plugin, "verify");
+        });
+
+        assertEquals(List.of(List.of("clean", "spotless:apply", "verify")), capturedArgs(1));
+    }
+
+    @Test
+    void testBatchSplitsOnConflictingOptions() throws Exception {
+        mavenInvoker.batch(plugin, () -> {
+            mavenInvoker.invokeGoal(plugin, "clean");
+            mavenInvoker.invokeGoal(plugin, "compile", "-DskipTests");
+            mavenInvoker.invokeGoal(plugin, "verify");
+        });
+
+        assertEquals(List.of(List.of("clean", "compile", "-DskipTests"), List.of("verify")), capturedArgs(2));
+    }
+
+    @Test
+    void testFlushRunsPendingGoals() throws Exception {
+        mavenInvoker.batch(plugin, () -> {
+            mavenInvoker.invokeGoal(plugin, "clean");
+            mavenInvoker.flush(plugin);
+            mavenInvoker.invokeGoal(plugin, "verify");
+        });
+
+        assertEquals(List.of(List.of("clean"), List.of("verify")), capturedArgs(2));
+    }
+
+    @Test
+    void testBatchDiscardsGoalsOnFailure() throws Exception {
+        assertThrows(
+                IllegalStateException.class,
+                () -> mavenInvoker.batch(plugin, () -> {
+                    mavenInvoker.invokeGoal(plugin, "clean");
+                    throw new IllegalStateException("failure");
+                }));
+
+        verify(invoker, never()).execute(any(InvocationRequest.class));
+    }
+
+    @Test
+    void testGoalsRunOnMavenDaemon() throws Exception {
+        Path mavenDaemonHome = createMavenDaemonHome();
+        when(config.isMavenDaemon()).thenReturn(true);
+        when(config.getMavenDaemonHome()).thenReturn(mavenDaemonHome);
+        when(plugin.getJDK()).thenReturn(JDK.JAVA_17);
+        when(jdkFetcher.getJdkPath(anyInt())).thenReturn(tempDir.resolve("jdk"));
+
+        mavenInvoker.invokeGoal(plugin, "verify");
+
+        InvocationRequest request = capturedRequests(1).get(0);
+        assertEquals(mavenDaemonHome.resolve("bin/mvnd.cmd").toFile(), request.getMavenExecutable());
+        assertTrue(request.getArgs().stream().anyMatch(arg -> arg.startsWith("-Dmvnd.jvmArgs=--add-opens")));
+        assertNull(request.getMavenOpts());
+    }
+
+    @Test
+    void testGoalsRunOnForkedMavenWithoutMavenDaemon() throws Exception {
+        when(config.isMavenDaemon()).thenReturn(true);
+        when(config.getMavenDaemonHome()).thenReturn(tempDir.resolve("missing"));
+
+        mavenInvoker.invokeGoal(plugin, "verify");
+
+        assertNull(capturedRequests(1).get(0).getMavenExecutable());
+    }
+
+    @Test
+    void testGoalsRunOnForkedMavenWhenMavenDaemonFails() throws Exception {
+        Path mavenDaemonHome = createMavenDaemonHome();
+        when(config.isMavenDaemon()).thenReturn(true);
+        when(config.getMavenDaemonHome()).thenReturn(mavenDaemonHome);
+        InvocationResult result = mock(InvocationResult.class);
+        when(result.getExitCode()).thenReturn(0);
+        when(invoker.execute(any(InvocationRequest.class)))
+                .thenThrow(new MavenInvocationException("mvnd failed"))
+                .thenReturn(result);
+
+        mavenInvoker.invokeGoal(plugin, "clean");
+        mavenInvoker.invokeGoal(plugin, "verify");
+
+        // The daemon is not tried again once it failed
+        List<InvocationRequest> requests = capturedRequests(3);
+        assertEquals(mavenDaemonHome.resolve("bin/mvnd.cmd").toFile(), requests.get(0).getMavenExecutable());
+        assertNull(requests.get(1).getMavenExecutable());
+        assertNull(requests.get(2).getMavenExecutable());
+        assertEquals(List.of(List.of("clean"), List.of("clean"), List.of("verify")), capturedArgs(3));
+        verify(plugin, never()).addError(anyString(), any(Exception.class));
+    }
+
+    private Path createMavenDaemonHome() throws Exception {
+        Path mavenDaemonHome = Files.createDirectories(tempDir.resolve("mvnd").resolve("bin"))
+                .getParent();
+        Files.createFile(mavenDaemonHome.resolve("bin/mvnd.cmd"));
+        return mavenDaemonHome;
+    }
+
+    private List<InvocationRequest> capturedRequests(int invocations) throws Exception {
+        ArgumentCaptor<InvocationRequest> captor = ArgumentCaptor.forClass(InvocationRequest.class);
+        verify(invoker, times(invocations)).execute(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private List<List<String>> capturedArgs(int invocations) throws Exception {
+        return capturedRequests(invocations).stream()
+                .map(request -> request.getArgs().stream()
+                        .filter(arg -> !arg.equals("-X"))
+                        .toList())
+                .toList();
+    }
+}
@@ -1,6 +1,8 @@
 package io.jenkins.tools.pluginmodernizer.core.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -10,17 +12,21 @@ import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import io.jenkins.tools.pluginmodernizer.core.github.GHService;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import java.io.FileNotFoundException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.eclipse.jgit.api.errors.TransportException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kohsuke.github.HttpException;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -42,6 +48,9 @@ class PluginModernizerTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private CheckpointJournal checkpointJournal;
+
     @Mock
     private Logger LOG;
 
@@ -188,7 +197,7 @@ class PluginModernizerTest {
         // Verify public method interactions
         verify(pluginModernizerSpy).validate();
         verify(cacheManager).init();
-        verify(pluginService).getPluginVersionData();
+        verify(pluginService).prefetch();
     }
 
     @Test
@@ -222,6 +231,36 @@ class PluginModernizerTest {
         verify(pluginService).existsInUpdateCenter(plugin);
     }
 
+    @Test
+    void testStartProcessesPluginsConcurrently() throws Exception {
+        // Setup
+        Plugin plugin1 = Plugin.build("non-existent-plugin-1");
+        Plugin plugin2 = Plugin.build("non-existent-plugin-2");
+        Plugin plugin3 = Plugin.build("non-existent-plugin-3");
+        when(config.getPlugins()).thenReturn(Arrays.asList(plugin1, plugin2, plugin3));
+        when(config.getParallelism()).thenReturn(2);
+        when(pluginService.existsInUpdateCenter(any(Plugin.class))).thenReturn(false);
+
+        // Mock recipe
+        Recipe mockRecipe = mock(Recipe.class);
+        when(mockRecipe.getName()).thenReturn("MockRecipe");
+        when(config.getRecipe()).thenReturn(mockRecipe);
+
+        PluginModernizer pluginModernizerSpy = spy(pluginModernizer);
+        doNothing().when(pluginModernizerSpy).validate();
+        doNothing().when(cacheManager).init();
+        when(pluginService.getPluginVersionData()).thenReturn(mock(PluginVersionData.class));
+
+        // Execute
+        pluginModernizerSpy.start();
+
+        // All plugins are processed before start returns
+        verify(pluginService).existsInUpdateCenter(plugin1);
+        verify(pluginService).existsInUpdateCenter(plugin2);
+        verify(pluginService).existsInUpdateCenter(plugin3);
+        verify(pluginService, never()).extractRepoName(any(Plugin.class));
+    }
+
     @Test
     void testProcessContinuesForPluginInUpdateCenter() throws Exception {
         // Setup
@@ -367,4 +406,24 @@ class PluginModernizerTest {
         when(recipe.getDescription()).thenReturn(description);
         return recipe;
     }
+
+    @Test
+    void testIsTransient() {
+        Plugin plugin = Plugin.build("example");
+        assertTrue(PluginModernizer.isTransient(new PluginProcessingException(
+                "Failed to push", new TransportException("Connection reset"), plugin)));
+        assertTrue(PluginModernizer.isTransient(new PluginProcessingException(
+                "Failed to open pull request", new HttpException("Bad gateway", 502, "Bad Gateway", null), plugin)));
+        assertTrue(PluginModernizer.isTransient(new PluginProcessingException(
+                "Failed to open pull request",
+                new HttpException("You have exceeded a secondary rate limit", 403, "Forbidden", null),
+                plugin)));
+        assertFalse(PluginModernizer.isTransient(new PluginProcessingException(
+                "Failed to open pull request",
+                new HttpException("Validation failed", 422, "Unprocessable", null),
+                plugin)));
+        assertFalse(PluginModernizer.isTransient(new PluginProcessingException(
+                "Failed to open pull request", new FileNotFoundException("Not found"), plugin)));
+        assertFalse(PluginModernizer.isTransient(new PluginProcessingException("Unexpected push error", plugin)));
+    }
 }
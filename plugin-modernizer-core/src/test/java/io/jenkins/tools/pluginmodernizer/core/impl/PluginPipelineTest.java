@@ -0,0 +1,141 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class PluginPipelineTest {
+
+    @Test
+    void shouldRunAllStagesInOrder() {
+        List<Plugin> plugins =
+                IntStream.range(0, 10).mapToObj(i -> Plugin.build("plugin-" + i)).toList();
+        Map<String, List<String>> visited = new ConcurrentHashMap<>();
+        Set<String> finished = ConcurrentHashMap.newKeySet();
+
+        PluginPipeline pipeline = new PluginPipeline(
+                List.of(
+                        new PluginPipeline.Stage("first", 2, false, recording(visited, "first")),
+                        new PluginPipeline.Stage("second", 3, false, recording(visited, "second")),
+                        new PluginPipeline.Stage("third", 1, false, recording(visited, "third"))),
+                plugin -> finished.add(plugin.getName()));
+        pipeline.run(plugins);
+
+        assertEquals(10, finished.size());
+        plugins.forEach(plugin -> assertEquals(List.of("first", "second", "third"), visited.get(plugin.getName())));
+    }
+
+    @Test
+    void shouldFinishStoppedPluginsAndIgnoreSkippedOnes() {
+        Plugin continued = Plugin.build("continued");
+        Plugin stopped = Plugin.build("stopped");
+        Plugin skipped = Plugin.build("skipped");
+        List<String> secondStage = new CopyOnWriteArrayList<>();
+        Set<String> finished = ConcurrentHashMap.newKeySet();
+
+        PluginPipeline pipeline = new PluginPipeline(
+                List.of(
+                        new PluginPipeline.Stage(
+                                "first",
+                                2,
+                                false,
+                                plugin -> switch (plugin.getName()) {
+                                    case "stopped" -> StageResult.DONE;
+                                    case "skipped" -> StageResult.SKIPPED;
+                                    default -> StageResult.CONTINUE;
+                                }),
+                        new PluginPipeline.Stage("second", 1, false, plugin -> {
+                            secondStage.add(plugin.getName());
+                            return StageResult.DONE;
+                        })),
+                plugin -> finished.add(plugin.getName()));
+        pipeline.run(List.of(continued, stopped, skipped));
+
+        assertEquals(List.of("continued"), secondStage);
+        assertEquals(Set.of("continued", "stopped"), finished);
+    }
+
+    @Test
+    void shouldBoundConcurrencyPerStage() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Plugin> plugins =
+                IntStream.range(0, 8).mapToObj(i -> Plugin.build("plugin-" + i)).toList();
+
+        PluginPipeline pipeline = new PluginPipeline(
+                List.of(new PluginPipeline.Stage("build", 2, false, plugin -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return StageResult.DONE;
+                })),
+                plugin -> {});
+        pipeline.run(plugins);
+
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void shouldContinueWhenStageFails() {
+        Set<String> finished = ConcurrentHashMap.newKeySet();
+        PluginPipeline pipeline = new PluginPipeline(
+                List.of(new PluginPipeline.Stage("failing", 1, false, plugin -> {
+                    throw new IllegalStateException("boom");
+                })),
+                plugin -> finished.add(plugin.getName()));
+        pipeline.run(List.of(Plugin.build("a"), Plugin.build("b")));
+
+        assertTrue(finished.isEmpty());
+    }
+
+    private static Function<Plugin, StageResult> recording(
+            Map<String, List<String>> visited, String stage) {
+        return plugin -> {
+            visited.computeIfAbsent(plugin.getName(), k -> new CopyOnWriteArrayList<>())
+                    .add(stage);
+            return StageResult.CONTINUE;
+        };
+    }
+
+    @Test
+    void shouldBoundVirtualStages() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Plugin> plugins =
+                IntStream.range(0, 20).mapToObj(i -> Plugin.build("plugin-" + i)).toList();
+
+        PluginPipeline pipeline = new PluginPipeline(
+                List.of(new PluginPipeline.Stage("fetch", 5, true, plugin -> {
+                    assertTrue(Thread.currentThread().isVirtual());
+                    threads.add(Thread.currentThread().getName());
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return StageResult.DONE;
+                })),
+                plugin -> {});
+        pipeline.run(plugins);
+
+        assertTrue(maxRunning.get() <= 5);
+        assertEquals(20, threads.size());
+    }
+}
@@ -0,0 +1,149 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import io.jenkins.tools.pluginmodernizer.core.config.Config;
+import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
+import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
+import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
+import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class RewriteEngineTest {
+
+    @Mock
+    private Config config;
+
+    @Mock
+    private Plugin plugin;
+
+    @Mock
+    private PluginService pluginService;
+
+    @InjectMocks
+    private RewriteEngine rewriteEngine;
+
+    @TempDir
+    private Path tempDir;
+
+    private Path localRepository;
+
+    private UpdateCenterData updateCenterData;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        localRepository = Files.createDirectories(tempDir.resolve("plugin"));
+        Files.writeString(localRepository.resolve("pom.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>io.jenkins.plugins</groupId>
+                  <artifactId>example</artifactId>
+                  <version>1.0</version>
+                </project>
+                """);
+        when(config.getMavenLocalRepo()).thenReturn(Files.createDirectories(tempDir.resolve("m2")));
+        when(config.getCachePath()).thenReturn(tempDir.resolve("cache"));
+        when(config.getVersion()).thenReturn("1.0");
+        when(plugin.getName()).thenReturn("example");
+        when(plugin.getLocalRepository()).thenReturn(localRepository);
+        updateCenterData = new UpdateCenterData(null);
+        updateCenterData.setEtag("\"uc-1\"");
+        PluginVersionData pluginVersionData = new PluginVersionData(null);
+        pluginVersionData.setLastModified("Wed, 01 Jan 2025 00:00:00 GMT");
+        when(pluginService.getUpdateCenterData()).thenReturn(updateCenterData);
+        when(pluginService.getPluginVersionData()).thenReturn(pluginVersionData);
+    }
+
+    @Test
+    void testRunGeneratesFiles() {
+        List<Path> changed = rewriteEngine.run(plugin, getRecipe("io.jenkins.tools.pluginmodernizer.SetupDependabot"));
+
+        assertEquals(List.of(Path.of(".github/dependabot.yml")), changed);
+        assertTrue(Files.isRegularFile(localRepository.resolve(".github/dependabot.yml")));
+    }
+
+    @Test
+    void testRunKeepsUnchangedFiles() throws Exception {
+        Files.writeString(localRepository.resolve("renovate.json"), "{}");
+
+        List<Path> changed = rewriteEngine.run(plugin, getRecipe("io.jenkins.tools.pluginmodernizer.SetupDependabot"));
+
+        assertTrue(changed.isEmpty());
+        assertFalse(Files.exists(localRepository.resolve(".github/dependabot.yml")));
+    }
+
+    @Test
+    void testRunReusesResultForUnchangedTree() throws Exception {
+        try (Git git = Git.init().setDirectory(localRepository.toFile()).call()) {
+            git.add().addFilepattern(".").call();
+            git.commit()
+                    .setMessage("Initial commit")
+                    .setAuthor("test", "test@example.com")
+                    .setCommitter("test", "test@example.com")
+                    .setSign(false)
+                    .call();
+        }
+        Recipe recipe = getRecipe("io.jenkins.tools.pluginmodernizer.SetupDependabot");
+        rewriteEngine.run(plugin, recipe);
+
+        // Alter the cached result to detect it's reused
+        Path cached = tempDir.resolve("cache").resolve("example").resolve(CacheManager.REWRITE_RESULT_CACHE_KEY);
+        assertTrue(Files.isRegularFile(cached));
+        Files.writeString(cached, Files.readString(cached).replace("version: 2", "version: 42"));
+        Files.delete(localRepository.resolve(".github/dependabot.yml"));
+
+        List<Path> changed = rewriteEngine.run(plugin, recipe);
+
+        assertEquals(List.of(Path.of(".github/dependabot.yml")), changed);
+        assertTrue(Files.readString(localRepository.resolve(".github/dependabot.yml")).contains("version: 42"));
+    }
+
+    @Test
+    void testRunIgnoresResultOfOtherRemoteData() throws Exception {
+        try (Git git = Git.init().setDirectory(localRepository.toFile()).call()) {
+            git.add().addFilepattern(".").call();
+            git.commit()
+                    .setMessage("Initial commit")
+                    .setAuthor("test", "test@example.com")
+                    .setCommitter("test", "test@example.com")
+                    .setSign(false)
+                    .call();
+        }
+        Recipe recipe = getRecipe("io.jenkins.tools.pluginmodernizer.SetupDependabot");
+        rewriteEngine.run(plugin, recipe);
+
+        // Alter the cached result and publish a new update center
+        Path cached = tempDir.resolve("cache").resolve("example").resolve(CacheManager.REWRITE_RESULT_CACHE_KEY);
+        Files.writeString(cached, Files.readString(cached).replace("version: 2", "version: 42"));
+        Files.delete(localRepository.resolve(".github/dependabot.yml"));
+        updateCenterData.setEtag("\"uc-2\"");
+
+        List<Path> changed = rewriteEngine.run(plugin, recipe);
+
+        assertEquals(List.of(Path.of(".github/dependabot.yml")), changed);
+        assertFalse(Files.readString(localRepository.resolve(".github/dependabot.yml")).contains("version: 42"));
+    }
+
+    private static Recipe getRecipe(String name) {
+        return Settings.AVAILABLE_RECIPES.stream()
+                .filter(recipe -> recipe.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -5,7 +5,9 @@ import static org.mockito.Mockito.*;
 
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
 import io.jenkins.tools.pluginmodernizer.core.github.GHService;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
 import io.jenkins.tools.pluginmodernizer.core.impl.MavenInvoker;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -400,6 +402,16 @@ public class PluginTest {
         assertTrue(plugin.hasErrors());
     }
 
+    @Test
+    public void testRemoveErrorsAfter() {
+        Plugin plugin = Plugin.build("example").withConfig(mock(Config.class));
+        plugin.addError("first", new Exception("first"));
+        plugin.addError("retried", new Exception("retried"));
+        plugin.removeErrorsAfter(1);
+        assertEquals(1, plugin.getErrors().size());
+        assertEquals("first", plugin.getErrors().get(0).getMessage());
+    }
+
     @Test
     public void testToString() {
         Plugin plugin = Plugin.build("example");
@@ -655,4 +667,27 @@ public class PluginTest {
         assertTrue(plugin.getLocalRepository().equals(module1)
                 || plugin.getLocalRepository().equals(module2));
     }
+
+    @Test
+    public void testCopyModernizedMetadataKeepsMetadataOfSources(@TempDir Path tempDir) {
+        Plugin plugin = Plugin.build("example", tempDir.resolve("example"));
+        CacheManager cacheManager = new CacheManager(tempDir.resolve("cache"));
+        PluginMetadata metadata = new PluginMetadata(new CacheManager(tempDir.resolve("example/target")));
+        metadata.setPluginName("example");
+        metadata.save();
+        plugin.copyMetadata(cacheManager, "abc");
+
+        // Metadata collected after modernization
+        metadata.setPluginName("modernized");
+        metadata.save();
+        plugin.copyModernizedMetadata(cacheManager);
+
+        assertEquals("modernized", plugin.getMetadata().getPluginName());
+        PluginMetadata cached = cacheManager.get(
+                Path.of("example"), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class, "abc");
+        assertEquals("example", cached.getPluginName());
+        plugin.loadMetadata(cacheManager, "abc");
+        plugin.loadModernizedMetadata(cacheManager);
+        assertEquals("modernized", plugin.getMetadata().getPluginName());
+    }
 }
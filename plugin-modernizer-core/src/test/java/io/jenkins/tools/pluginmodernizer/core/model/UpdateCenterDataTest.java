@@ -0,0 +1,76 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.google.gson.stream.JsonReader;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class UpdateCenterDataTest {
+
+    private static final String UPDATE_CENTER =
+            """
+            {
+              "connectionCheckUrl": "https://www.google.com/",
+              "core": {"name": "core", "version": "2.500", "url": "https://updates.jenkins.io/war/2.500/jenkins.war"},
+              "deprecations": {
+                "old-plugin": {"url": "https://www.jenkins.io/deprecated/"}
+              },
+              "plugins": {
+                "git": {
+                  "buildDate": "2025-01-01",
+                  "defaultBranch": "master",
+                  "dependencies": [{"name": "git-client", "optional": false, "version": "6.0.0"}],
+                  "developers": [{"developerId": "markewaite", "name": "Mark Waite"}],
+                  "gav": "org.jenkins-ci.plugins:git:5.7.0",
+                  "labels": ["scm", "git"],
+                  "name": "git",
+                  "popularity": 300000,
+                  "scm": "https://github.com/jenkinsci/git-plugin",
+                  "version": "5.7.0"
+                },
+                "git-client": {
+                  "defaultBranch": null,
+                  "gav": "org.jenkins-ci.plugins:git-client:6.0.0",
+                  "labels": ["git"],
+                  "name": "git-client",
+                  "scm": "https://github.com/jenkinsci/git-client-plugin",
+                  "version": "6.0.0"
+                }
+              },
+              "signature": {"certificates": ["abc"], "correct_digest": "def"},
+              "updateCenterVersion": "1",
+              "warnings": [{"id": "SECURITY-1", "versions": [{"pattern": "1.*"}]}]
+            }
+            """;
+
+    @Test
+    public void shouldReadOnlyProjectedFields() throws Exception {
+        UpdateCenterData data;
+        try (JsonReader reader = new JsonReader(new StringReader(UPDATE_CENTER))) {
+            data = UpdateCenterData.read(reader, null);
+        }
+
+        assertEquals(2, data.getPlugins().size());
+        assertEquals(
+                new UpdateCenterData.UpdateCenterPlugin(
+                        "git",
+                        "5.7.0",
+                        "https://github.com/jenkinsci/git-plugin",
+                        "master",
+                        "org.jenkins-ci.plugins:git:5.7.0",
+                        List.of("scm", "git")),
+                data.getPlugins().get("git"));
+        UpdateCenterData.UpdateCenterPlugin gitClient = data.getPlugins().get("git-client");
+        assertNull(gitClient.defaultBranch());
+        assertSame(
+                data.getPlugins().get("git").labels().get(1), gitClient.labels().get(0));
+        assertEquals(1, data.getDeprecations().size());
+        assertEquals(
+                "https://www.jenkins.io/deprecated/",
+                data.getDeprecations().get("old-plugin").url());
+    }
+}
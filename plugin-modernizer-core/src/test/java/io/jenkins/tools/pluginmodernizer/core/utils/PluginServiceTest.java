@@ -1,8 +1,15 @@
 package io.jenkins.tools.pluginmodernizer.core.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
@@ -21,6 +28,7 @@ import java.lang.reflect.Field;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.commons.lang3.tuple.Triple;
@@ -276,6 +284,112 @@ class PluginServiceTest {
                 pluginInstallationStatsData.getPlugins().size());
     }
 
+    @Test
+    public void shouldPrefetchAllDatasets(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        WireMock wireMock = wmRuntimeInfo.getWireMock();
+        String baseUrl = wmRuntimeInfo.getHttpBaseUrl();
+
+        CacheManager cacheManager = Mockito.mock(CacheManager.class);
+        Path cacheRoot = Mockito.mock(Path.class);
+        Config config = Mockito.mock(Config.class);
+        Triple<UpdateCenterData, HealthScoreData, PluginInstallationStatsData> apis =
+                setup(config, cacheManager, cacheRoot);
+        doReturn(cacheRoot).when(cacheManager).root();
+
+        wireMock.register(WireMock.get(WireMock.urlEqualTo("/update-center.json"))
+                .willReturn(WireMock.okJson(JsonUtils.toJson(apis.getLeft()))));
+        wireMock.register(WireMock.get(WireMock.urlEqualTo("/plugin-versions.json"))
+                .willReturn(WireMock.okJson("{\"plugins\":{}}")));
+        wireMock.register(WireMock.get(WireMock.urlEqualTo("/api/scores"))
+                .willReturn(WireMock.okJson(JsonUtils.toJson(apis.getMiddle()))));
+        wireMock.register(WireMock.get(WireMock.urlEqualTo("/plugins.csv"))
+                .willReturn(WireMock.ok("\"valid-plugin\",\"1\"")));
+        wireMock.register(WireMock.get(WireMock.urlEqualTo("/opt-out-plugins.json"))
+                .willReturn(WireMock.okJson("{\"opted_out_plugins\":[]}")));
+        doReturn(new URL(baseUrl + "/update-center.json")).when(config).getJenkinsUpdateCenter();
+        doReturn(new URL(baseUrl + "/plugin-versions.json")).when(config).getJenkinsPluginVersions();
+        doReturn(new URL(baseUrl + "/api/scores")).when(config).getPluginHealthScore();
+        doReturn(new URL(baseUrl + "/plugins.csv")).when(config).getPluginStatsInstallations();
+        doReturn(new URL(baseUrl + "/opt-out-plugins.json")).when(config).getOptOutPlugins();
+
+        PluginService service = getService(config, cacheManager);
+        service.prefetch();
+        verify(cacheManager, times(5)).put(any());
+    }
+
+    @Test
+    public void shouldFailPrefetchIfOneDatasetIsNotAvailable(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        WireMock wireMock = wmRuntimeInfo.getWireMock();
+        String baseUrl = wmRuntimeInfo.getHttpBaseUrl();
+
+        CacheManager cacheManager = Mockito.mock(CacheManager.class);
+        Config config = Mockito.mock(Config.class);
+        setup(config, cacheManager, Mockito.mock(Path.class));
+        wireMock.register(WireMock.get(WireMock.anyUrl()).willReturn(WireMock.serverError()));
+        // Remaining downloads are cancelled after the first failure
+        lenient().doReturn(new URL(baseUrl + "/update-center.json")).when(config).getJenkinsUpdateCenter();
+        lenient().doReturn(new URL(baseUrl + "/plugin-versions.json")).when(config).getJenkinsPluginVersions();
+        lenient().doReturn(new URL(baseUrl + "/api/scores")).when(config).getPluginHealthScore();
+        lenient().doReturn(new URL(baseUrl + "/plugins.csv")).when(config).getPluginStatsInstallations();
+        lenient().doReturn(new URL(baseUrl + "/opt-out-plugins.json")).when(config).getOptOutPlugins();
+
+        PluginService service = getService(config, cacheManager);
+        ModernizerException exception = assertThrows(ModernizerException.class, service::prefetch);
+        assertTrue(exception.getMessage().contains("Received response code: 500"));
+    }
+
+    @Test
+    public void shouldRevalidateExpiredEntry(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        WireMock wireMock = wmRuntimeInfo.getWireMock();
+
+        CacheManager cacheManager = Mockito.mock(CacheManager.class);
+        Path cacheRoot = Mockito.mock(Path.class);
+        Config config = Mockito.mock(Config.class);
+        HealthScoreData expired = setup(config, cacheManager, cacheRoot).getMiddle();
+        expired.setEtag("\"abc\"");
+        doReturn(cacheRoot).when(cacheManager).root();
+        doReturn(expired).when(cacheManager).getStale(cacheRoot, CacheManager.HEALTH_SCORE_KEY, HealthScoreData.class);
+
+        wireMock.register(WireMock.get(WireMock.urlEqualTo("/api/scores"))
+                .withHeader("If-None-Match", WireMock.equalTo("\"abc\""))
+                .willReturn(WireMock.status(304)));
+        doReturn(new URL(wmRuntimeInfo.getHttpBaseUrl() + "/api/scores"))
+                .when(config)
+                .getPluginHealthScore();
+
+        PluginService service = getService(config, cacheManager);
+        assertSame(expired, service.getHealthScoreData());
+        verify(cacheManager).touch(expired);
+        verify(cacheManager, never()).put(any());
+    }
+
+    @Test
+    public void shouldReuseSnapshotUntilExpiration() throws Exception {
+        CacheManager cacheManager = Mockito.mock(CacheManager.class);
+        Path cacheRoot = Mockito.mock(Path.class);
+        Config config = Mockito.mock(Config.class);
+        UpdateCenterData updateCenterData =
+                setup(config, cacheManager, cacheRoot).getLeft();
+        setupUpdateCenterMocks(updateCenterData, cacheManager, cacheRoot);
+        Instant expiration = Instant.now().plusSeconds(3600);
+        doReturn(expiration).when(cacheManager).getExpiration(cacheRoot, CacheManager.UPDATE_CENTER_CACHE_KEY);
+        PluginService service = getService(config, cacheManager);
+
+        assertSame(updateCenterData, service.getUpdateCenterData());
+        assertTrue(service.existsInUpdateCenter(Plugin.build("valid-plugin")));
+        verify(cacheManager, times(1)).get(cacheRoot, CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class);
+
+        // Shared snapshots are read-only
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> updateCenterData.getPlugins().remove("valid-plugin"));
+
+        // Reloaded once the backing entry expired
+        doReturn(true).when(cacheManager).isExpired(expiration);
+        service.getUpdateCenterData();
+        verify(cacheManager, times(2)).get(cacheRoot, CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class);
+    }
+
     /**
      * Get the update center service to test
      * @param cacheManager Cache manager
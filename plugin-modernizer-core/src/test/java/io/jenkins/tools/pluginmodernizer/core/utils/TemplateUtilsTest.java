@@ -1,6 +1,7 @@
 package io.jenkins.tools.pluginmodernizer.core.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doReturn;
@@ -10,6 +11,7 @@ import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
+import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
@@ -1120,4 +1122,47 @@ public class TemplateUtilsTest {
         assertTrue(result.contains("jackson2-api"));
         assertTrue(result.contains("jackson3-api"));
     }
+
+    @Test
+    public void testCampaignTemplates() {
+
+        // Mocks
+        Plugin plugin = mock(Plugin.class);
+        doReturn("example").when(plugin).getName();
+        Recipe campaign = Recipe.campaign(List.of(
+                createRecipe("AddCodeOwner", "Add CODEOWNERS", Set.of("chore", "skip-verification")),
+                createRecipe("SetupDependabot", "Setup dependabot", Set.of("chore"))));
+
+        // Assert
+        assertTrue(campaign.isCampaign());
+        assertFalse(campaign.isSkipVerification());
+        assertEquals("io.jenkins.tools.pluginmodernizer.AddCodeOwner-SetupDependabot", campaign.getName());
+        assertEquals(
+                "Applied recipes AddCodeOwner, SetupDependabot",
+                TemplateUtils.renderPullRequestTitle(plugin, campaign));
+        assertEquals(
+                "Applied recipes AddCodeOwner, SetupDependabot",
+                TemplateUtils.renderCommitMessage(plugin, campaign));
+        assertEquals(
+                "plugin-modernizer/addcodeowner-setupdependabot", TemplateUtils.renderBranchName(plugin, campaign));
+        String body = TemplateUtils.renderPullRequestBody(plugin, campaign);
+        assertTrue(body.contains("io.jenkins.tools.pluginmodernizer.AddCodeOwner"));
+        assertTrue(body.contains("io.jenkins.tools.pluginmodernizer.SetupDependabot"));
+
+        // Sections of the recipes with their own templates
+        assertTrue(body.contains("### chore(github): Add CODEOWNERS"));
+        assertTrue(body.contains("### chore(dependencies): Automate dependency updates with Dependabot"));
+        assertTrue(body.contains("## Why is this important?"));
+        assertTrue(body.contains("### Why Automate with Dependabot?"));
+        assertEquals(1, body.split("Hello `example` developers!", -1).length - 1);
+    }
+
+    private static Recipe createRecipe(String name, String displayName, Set<String> tags) {
+        Recipe recipe = new Recipe();
+        recipe.setName("io.jenkins.tools.pluginmodernizer." + name);
+        recipe.setDisplayName(displayName);
+        recipe.setDescription(displayName + ".");
+        recipe.setTags(tags);
+        return recipe;
+    }
 }